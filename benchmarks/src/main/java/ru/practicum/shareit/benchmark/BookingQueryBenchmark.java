@@ -0,0 +1,56 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingListDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BookingQueryBenchmark {
+
+    private static final int SAMPLES = 1024;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private BookingState state;
+
+    private BookingService bookingService;
+    private long[] owners;
+    private long[] bookers;
+    private int next;
+
+    @Setup
+    public void setUp(SeededDatabase database) {
+        bookingService = database.getBean(BookingService.class);
+        owners = database.sampleOwnerIds(SAMPLES);
+        bookers = database.sampleUserIds(SAMPLES);
+    }
+
+    @Benchmark
+    public Collection<BookingListDto> getBookingsByOwnerId() {
+        return bookingService.getBookingsByOwnerId(state, owners[next++ % SAMPLES], 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Collection<BookingListDto> getBookingsByBookerId() {
+        return bookingService.getBookingsByBookerId(state, bookers[next++ % SAMPLES], 0, PAGE_SIZE);
+    }
+}
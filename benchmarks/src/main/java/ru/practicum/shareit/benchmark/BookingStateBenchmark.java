@@ -0,0 +1,50 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingStateBenchmark {
+
+    private static final int STATES = 1024;
+    private static final String[] MIX = {"ALL", "ALL", "ALL", "ALL", "WAITING", "WAITING", "CURRENT", "PAST",
+            "FUTURE", "REJECTED", "all", "UNKNOWN"};
+
+    private String[] states;
+
+    @Setup
+    public void setUp() {
+        Random random = Fixtures.random();
+        states = new String[STATES];
+        for (int i = 0; i < STATES; i++) {
+            states[i] = new String(MIX[random.nextInt(MIX.length)]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STATES)
+    public void checkState(Blackhole blackhole) {
+        for (String state : states) {
+            blackhole.consume(BookingState.checkState(state.toUpperCase()));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.dto.BookingBookerDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListView;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.comment.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+final class Fixtures {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final Status[] STATUSES = Status.values();
+    private static final String[] WORDS = {"дрель", "перфоратор", "шуруповёрт", "лестница", "палатка",
+            "велосипед", "drill", "ladder", "tent", "bike", "аккумуляторная", "новая", "почти", "не", "пользовались"};
+
+    private Fixtures() {
+    }
+
+    static Random random() {
+        return new Random(42);
+    }
+
+    static List<User> users(int count, Random random) {
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            users.add(User.builder()
+                    .id(id)
+                    .name(text(random, 1, 3))
+                    .email("user" + id + "@shareit.ru")
+                    .build());
+        }
+        return users;
+    }
+
+    static List<ItemRequest> requests(int count, List<User> requesters, Random random) {
+        List<ItemRequest> requests = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            requests.add(ItemRequest.builder()
+                    .id(id)
+                    .description(text(random, 4, 20))
+                    .requester(requesters.get(random.nextInt(requesters.size())))
+                    .created(NOW.minusMinutes(random.nextInt(100_000)))
+                    .build());
+        }
+        return requests;
+    }
+
+    static List<Item> items(int count, List<User> owners, List<ItemRequest> requests, Random random) {
+        List<Item> items = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            items.add(Item.builder()
+                    .id(id)
+                    .name(text(random, 1, 4))
+                    .description(text(random, 5, 30))
+                    .available(random.nextInt(10) > 0)
+                    .owner(owners.get(random.nextInt(owners.size())))
+                    .request(random.nextInt(3) == 0 ? requests.get(random.nextInt(requests.size())) : null)
+                    .build());
+        }
+        return items;
+    }
+
+    static List<Booking> bookings(int count, List<Item> items, List<User> bookers, Random random) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            LocalDateTime start = NOW.plusHours(random.nextInt(20_000) - 10_000);
+            bookings.add(Booking.builder()
+                    .id(id)
+                    .start(start)
+                    .end(start.plusHours(1 + random.nextInt(72)))
+                    .item(items.get(random.nextInt(items.size())))
+                    .booker(bookers.get(random.nextInt(bookers.size())))
+                    .status(STATUSES[random.nextInt(STATUSES.length)])
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<BookingListView> bookingViews(List<Booking> bookings) {
+        List<BookingListView> views = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            views.add(new BookingListView() {
+                @Override
+                public Long getId() {
+                    return booking.getId();
+                }
+
+                @Override
+                public LocalDateTime getStart() {
+                    return booking.getStart();
+                }
+
+                @Override
+                public LocalDateTime getEnd() {
+                    return booking.getEnd();
+                }
+
+                @Override
+                public Status getStatus() {
+                    return booking.getStatus();
+                }
+
+                @Override
+                public Long getItemId() {
+                    return booking.getItem().getId();
+                }
+
+                @Override
+                public String getItemName() {
+                    return booking.getItem().getName();
+                }
+
+                @Override
+                public Long getBookerId() {
+                    return booking.getBooker().getId();
+                }
+            });
+        }
+        return views;
+    }
+
+    static List<ItemDtoResponse> itemDetails(int count, Random random) {
+        List<ItemDtoResponse> details = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Set<CommentDtoResponse> comments = new HashSet<>();
+            for (long comment = random.nextInt(4); comment > 0; comment--) {
+                comments.add(CommentDtoResponse.builder()
+                        .id(id * 10 + comment)
+                        .text(text(random, 3, 40))
+                        .authorName(text(random, 1, 2))
+                        .created(NOW.minusDays(random.nextInt(365)))
+                        .build());
+            }
+            details.add(ItemDtoResponse.builder()
+                    .id(id)
+                    .name(text(random, 1, 4))
+                    .description(text(random, 5, 30))
+                    .available(true)
+                    .lastBooking(booking(random, -1))
+                    .nextBooking(random.nextBoolean() ? booking(random, 1) : null)
+                    .comments(comments)
+                    .requestId(random.nextInt(3) == 0 ? (long) random.nextInt(1000) : null)
+                    .build());
+        }
+        return details;
+    }
+
+    private static BookingBookerDto booking(Random random, int direction) {
+        LocalDateTime start = NOW.plusHours(direction * (1L + random.nextInt(1000)));
+        return new BookingBookerDto((long) random.nextInt(1_000_000), (long) random.nextInt(10_000), start,
+                start.plusHours(1 + random.nextInt(72)));
+    }
+
+    static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    static String text(Random random, int minWords, int maxWords) {
+        int words = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(word(random));
+        }
+        return text.toString();
+    }
+}
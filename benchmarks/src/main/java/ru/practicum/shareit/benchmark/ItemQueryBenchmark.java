@@ -0,0 +1,56 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ItemQueryBenchmark {
+
+    private static final int SAMPLES = 1024;
+    private static final int PAGE_SIZE = 20;
+
+    private ItemService itemService;
+    private long[] owners;
+    private String[] texts;
+    private int next;
+
+    @Setup
+    public void setUp(SeededDatabase database) {
+        itemService = database.getBean(ItemService.class);
+        owners = database.sampleOwnerIds(SAMPLES);
+        Random random = Fixtures.random();
+        texts = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            texts[i] = Fixtures.word(random);
+        }
+    }
+
+    @Benchmark
+    public List<ItemDtoResponse> getItemsByUserId() {
+        return itemService.getItemsByUserId(owners[next++ % SAMPLES], 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDtoResponse> getItemsByText() {
+        return itemService.getItemsByText(texts[next++ % SAMPLES], 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private List<ItemRequest> requests;
+    private Map<Long, List<Item>> itemsByRequestId;
+
+    @Setup
+    public void setUp() {
+        Random random = Fixtures.random();
+        List<User> users = Fixtures.users(200, random);
+        requests = Fixtures.requests(size, users, random);
+        itemsByRequestId = Fixtures.items(size * 3, users, requests, random).stream()
+                .filter(item -> item.getRequest() != null)
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+    }
+
+    @Benchmark
+    public void toItemRequestDto(Blackhole blackhole) {
+        for (ItemRequest request : requests) {
+            List<ItemDto> items = ItemMapper.returnItemDtoList(itemsByRequestId.getOrDefault(request.getId(),
+                    new ArrayList<>()));
+            blackhole.consume(ItemRequestMapper.toItemRequestDto(request, items));
+        }
+    }
+}
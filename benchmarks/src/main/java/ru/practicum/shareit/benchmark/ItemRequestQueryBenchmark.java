@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ItemRequestQueryBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"10", "100"})
+    private int size;
+
+    private ItemRequestService itemRequestService;
+    private ItemRequestRepository itemRequestRepository;
+    private ItemRepository itemRepository;
+    private long[] users;
+    private int next;
+
+    @Setup
+    public void setUp(SeededDatabase database) {
+        itemRequestService = database.getBean(ItemRequestService.class);
+        itemRequestRepository = database.getBean(ItemRequestRepository.class);
+        itemRepository = database.getBean(ItemRepository.class);
+        users = database.sampleUserIds(SAMPLES);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getAllRequests() {
+        return itemRequestService.getAllRequests(users[next++ % SAMPLES], 0, size);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getAllRequestsWithItemsPerRequest() {
+        List<ItemRequestDto> result = new ArrayList<>();
+        for (ItemRequest request : itemRequestRepository.findByIdIsNotOrderByCreatedAsc(users[next++ % SAMPLES],
+                PageRequest.of(0, size))) {
+            result.add(ItemRequestMapper.toItemRequestDto(request,
+                    ItemMapper.returnItemDtoList(itemRepository.findByRequest_Id(request.getId()))));
+        }
+        return result;
+    }
+}
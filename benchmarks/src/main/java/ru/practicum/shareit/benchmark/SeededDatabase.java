@@ -0,0 +1,125 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.seed.DatasetSeeder;
+import ru.practicum.shareit.seed.SeedProperties;
+
+import javax.persistence.EntityManagerFactory;
+import java.nio.file.Path;
+import java.util.Random;
+
+@State(Scope.Benchmark)
+@Slf4j
+public class SeededDatabase {
+
+    private static final int CACHE_SIZE_KB = 512 * 1024;
+    private static final int BATCH_SIZE = 10_000;
+
+    private static volatile Statistics statistics;
+
+    @Param("10000")
+    private int users;
+
+    @Param("100000")
+    private int items;
+
+    @Param("1000000")
+    private int bookings;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+
+    static Statistics statistics() {
+        return statistics;
+    }
+
+    @Setup(Level.Trial)
+    public void start() {
+        Path directory = Path.of(System.getProperty("shareit.benchmark.db",
+                Path.of(System.getProperty("java.io.tmpdir"), "shareit-benchmarks").toString()));
+        Path file = directory.resolve("shareit-skewed-" + users + "-" + items + "-" + bookings).toAbsolutePath();
+        context = startContext(file);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (seedIfEmpty()) {
+            jdbcTemplate.execute("SHUTDOWN COMPACT");
+            context.close();
+            context = startContext(file);
+            jdbcTemplate = context.getBean(JdbcTemplate.class);
+        }
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private boolean seedIfEmpty() {
+        Integer marker = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES "
+                + "WHERE LOWER(TABLE_NAME) = 'benchmark_dataset'", Integer.class);
+        if (marker != null && marker > 0) {
+            log.warn("Используется ранее заполненная база: {} пользователей, {} вещей, {} бронирований.",
+                    users, items, bookings);
+            return false;
+        }
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(jdbcTemplate.getDataSource());
+        SeedProperties properties = new SeedProperties();
+        properties.setUsers(users);
+        properties.setRequests(users);
+        properties.setItems(items);
+        properties.setBookings(bookings);
+        properties.setComments(items / 2);
+        properties.setBatchSize(BATCH_SIZE);
+        new DatasetSeeder(jdbcTemplate.getDataSource()).seed(properties);
+        jdbcTemplate.execute("CREATE TABLE benchmark_dataset (seeded TIMESTAMP NOT NULL)");
+        jdbcTemplate.update("INSERT INTO benchmark_dataset (seeded) VALUES (CURRENT_TIMESTAMP)");
+        return true;
+    }
+
+    private static ConfigurableApplicationContext startContext(Path file) {
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:file:" + file + ";CACHE_SIZE=" + CACHE_SIZE_KB,
+                        "--spring.sql.init.mode=never",
+                        "--logging.level.root=warn");
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    long[] sampleUserIds(int count) {
+        Random random = Fixtures.random();
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = 1 + random.nextInt(users);
+        }
+        return ids;
+    }
+
+    long[] sampleOwnerIds(int count) {
+        Random random = Fixtures.random();
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = jdbcTemplate.queryForObject("SELECT owner_id FROM items WHERE item_id = ?", Long.class,
+                    1 + random.nextInt(items));
+        }
+        return ids;
+    }
+}
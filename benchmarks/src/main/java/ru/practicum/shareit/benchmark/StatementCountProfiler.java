@@ -0,0 +1,43 @@
+package ru.practicum.shareit.benchmark;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class StatementCountProfiler implements InternalProfiler {
+
+    private long statementsBefore = -1;
+
+    @Override
+    public String getDescription() {
+        return "Число SQL-запросов на операцию по статистике Hibernate";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        Statistics statistics = SeededDatabase.statistics();
+        statementsBefore = statistics == null ? -1 : statistics.getPrepareStatementCount();
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+                                                       IterationParams iterationParams, IterationResult result) {
+        Statistics statistics = SeededDatabase.statistics();
+        long operations = result.getMetadata().getAllOps();
+        if (statistics == null || statementsBefore < 0 || operations == 0) {
+            return Collections.emptyList();
+        }
+        double statements = statistics.getPrepareStatementCount() - statementsBefore;
+        return List.of(new ScalarResult("sql.statements.norm", statements / operations, "statements/op",
+                AggregationPolicy.AVG));
+    }
+}
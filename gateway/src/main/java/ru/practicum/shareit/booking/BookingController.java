@@ -6,12 +6,18 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemBatchRequestDto;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 import static ru.practicum.shareit.utils.HeaderUserIdConst.HEADER_USER_ID;
 
@@ -25,48 +31,76 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader(HEADER_USER_ID) long userId,
-                                              @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(@RequestHeader(HEADER_USER_ID) long userId,
+                                                    @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                    @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                    @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        if (cursor != null) {
+            log.info("GATEWAY: Get booking with state {}, userId={}, cursor={}, size={}", stateParam, userId, cursor, size);
+            return bookingClient.getBookingsAfterCursor(userId, state, cursor, size);
+        }
         log.info("GATEWAY: Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
         return bookingClient.getBookings(userId, state, from, size);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsForOwner(@RequestHeader(HEADER_USER_ID) long ownerId,
-                                                      @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                      @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<Object>> getBookingsForOwner(@RequestHeader(HEADER_USER_ID) long ownerId,
+                                                            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                            @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        if (cursor != null) {
+            log.info("GATEWAY: Get booking with state {}, userId={}, cursor={}, size={}", stateParam, ownerId, cursor, size);
+            return bookingClient.getBookingsForOwnerAfterCursor(ownerId, state, cursor, size);
+        }
         log.info("GATEWAY: Get booking with state {}, userId={}, from={}, size={}", stateParam, ownerId, from, size);
         return bookingClient.getBookingsForOwner(ownerId, state, from, size);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader(HEADER_USER_ID) long userId,
-                                           @RequestBody @Valid BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> bookItem(@RequestHeader(HEADER_USER_ID) long userId,
+                                                 @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("GATEWAY: Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.bookItem(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> bookItems(@RequestHeader(HEADER_USER_ID) long userId,
+                                                  @RequestBody @Valid BookItemBatchRequestDto requestDto) {
+        log.info("GATEWAY: Creating {} bookings, userId={}, allOrNothing={}", requestDto.getBookings().size(), userId,
+                requestDto.isAllOrNothing());
+        return bookingClient.bookItems(userId, requestDto);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader(HEADER_USER_ID) long userId,
-                                             @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader(HEADER_USER_ID) long userId,
+                                                   @PathVariable Long bookingId) {
         log.info("GATEWAY: Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approve(@Positive @RequestHeader(HEADER_USER_ID) Long ownerId,
-                                          @Positive @PathVariable Long bookingId,
-                                          @RequestParam Boolean approved) {
+    public Mono<ResponseEntity<Object>> approve(@Positive @RequestHeader(HEADER_USER_ID) Long ownerId,
+                                                @Positive @PathVariable Long bookingId,
+                                                @RequestParam Boolean approved) {
 
         log.info("GATEWAY: Set status {} for booking id: {} by user id {}  - Started", approved, bookingId, ownerId);
         return bookingClient.approveBooking(ownerId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> approveAll(@Positive @RequestHeader(HEADER_USER_ID) Long ownerId,
+                                                   @RequestParam Boolean approved,
+                                                   @RequestBody @NotEmpty @Size(max = 100)
+                                                   List<@NotNull @Positive Long> bookingIds) {
+        log.info("GATEWAY: Set status {} for {} bookings by user id {}  - Started", approved, bookingIds.size(),
+                ownerId);
+        return bookingClient.approveBookings(ownerId, bookingIds, approved);
+    }
+
 }
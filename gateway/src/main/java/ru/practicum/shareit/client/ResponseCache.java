@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class ResponseCache {
+
+    private final AsyncLoadingCache<Key, ResponseEntity<Object>> responses;
+
+    public ResponseCache(ResponseCacheProperties.Route route, Loader loader) {
+        this(route, loader, Ticker.systemTicker());
+    }
+
+    public ResponseCache(ResponseCacheProperties.Route route, Loader loader, Ticker ticker) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(route.getMaximumSize())
+                .expireAfterWrite(route.getTimeToLive())
+                .refreshAfterWrite(route.getRefreshAfter())
+                .ticker(ticker)
+                .buildAsync(new ServerLoader(loader));
+    }
+
+    public Mono<ResponseEntity<Object>> get(String path, @Nullable Long userId, Map<String, Object> parameters) {
+        Key key = new Key(path, userId, new TreeMap<>(parameters));
+        return Mono.fromFuture(responses.get(key))
+                .doOnNext(response -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        responses.synchronous().invalidate(key);
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        Mono<ResponseEntity<Object>> load(String path, @Nullable Long userId, Map<String, Object> parameters);
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final String path;
+        private final Long userId;
+        private final Map<String, Object> parameters;
+    }
+
+    @RequiredArgsConstructor
+    private static class ServerLoader implements AsyncCacheLoader<Key, ResponseEntity<Object>> {
+        private final Loader loader;
+
+        @Override
+        public CompletableFuture<ResponseEntity<Object>> asyncLoad(Key key, Executor executor) {
+            return loader.load(key.path, key.userId, key.parameters).toFuture();
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<Object>> asyncReload(Key key, ResponseEntity<Object> oldValue,
+                                                                     Executor executor) {
+            return asyncLoad(key, executor)
+                    .thenApply(response -> response.getStatusCode().is2xxSuccessful() ? response : oldValue);
+        }
+    }
+}
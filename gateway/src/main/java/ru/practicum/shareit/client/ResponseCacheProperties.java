@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.cache")
+public class ResponseCacheProperties {
+    private Map<String, Route> routes = new HashMap<>();
+
+    public Route getRoute(String name) {
+        return routes.getOrDefault(name, new Route());
+    }
+
+    @Getter
+    @Setter
+    public static class Route {
+        private boolean enabled = false;
+        private Duration timeToLive = Duration.ofSeconds(10);
+        private Duration refreshAfter = Duration.ofSeconds(5);
+        private long maximumSize = 1000;
+    }
+}
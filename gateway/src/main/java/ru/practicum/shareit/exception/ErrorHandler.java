@@ -2,10 +2,10 @@ package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import javax.validation.ConstraintViolationException;
 import javax.validation.ValidationException;
@@ -22,7 +22,7 @@ public class ErrorHandler {
     }
 
     @ExceptionHandler({ConstraintViolationException.class, ValidationException.class,
-            MethodArgumentNotValidException.class, IllegalArgumentException.class})
+            WebExchangeBindException.class, IllegalArgumentException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleValidation(Exception e) {
         log.debug("Exception " + e.getClass() + " caused BAD_REQUEST status");
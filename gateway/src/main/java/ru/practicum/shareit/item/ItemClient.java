@@ -2,12 +2,15 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
 import ru.practicum.shareit.item.dto.CommentRequestDtoGateway;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoGateway;
@@ -18,43 +21,57 @@ import java.util.Map;
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private static final String SEARCH_CACHE_ROUTE = "items-search";
+
+    private final ResponseCache searchCache;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ReactorClientHttpConnector connector, ResponseCacheProperties cacheProperties) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
                         .build()
         );
+        this.searchCache = responseCache(cacheProperties.getRoute(SEARCH_CACHE_ROUTE));
     }
 
-    public ResponseEntity<Object> addNewItem(Long ownerId, ItemDtoGateway itemDto) {
+    public Mono<ResponseEntity<Object>> addNewItem(Long ownerId, ItemDtoGateway itemDto) {
         return post("", ownerId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> updateItem(Long userId, Long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItems(Long ownerId) {
+    public Mono<ResponseEntity<Object>> getItems(Long ownerId) {
         return get("", ownerId);
     }
 
-    public ResponseEntity<Object> getItem(Long itemId, Long userId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItem(Long itemId, Long userId, @Nullable String ifNoneMatch) {
+        return getIfNoneMatch("/" + itemId, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> addNewCommentToItem(@Valid CommentRequestDtoGateway requestDto, Long authorId, Long itemId) {
+    public Mono<ResponseEntity<Object>> addNewCommentToItem(@Valid CommentRequestDtoGateway requestDto, Long authorId, Long itemId) {
         return post("/" + itemId + "/comment", authorId, requestDto);
     }
 
-    public ResponseEntity<Object> searchForItems(String text) {
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search/?text={text}", null, parameters);
+    public Mono<ResponseEntity<Object>> searchForItems(String text) {
+        Map<String, Object> parameters = Map.of("text", text.toLowerCase());
+        return get(searchCache, "/search/?text={text}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> searchForItemsAfterCursor(String text, String cursor, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text.toLowerCase(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get(searchCache, "/search/?text={text}&cursor={cursor}&size={size}", null, parameters);
     }
 
-    public void deleteItem(Long userId, Long itemId) {
-        delete("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> deleteItem(Long userId, Long itemId) {
+        return delete("/" + itemId, userId);
     }
 }
@@ -2,10 +2,12 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentRequestDtoGateway;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoGateway;
@@ -24,66 +26,72 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@Positive @RequestHeader(HEADER_USER_ID) Long authorId,
-                                             @Positive @PathVariable Long itemId,
-                                             @Valid @RequestBody CommentRequestDtoGateway requestDto) {
+    public Mono<ResponseEntity<Object>> addComment(@Positive @RequestHeader(HEADER_USER_ID) Long authorId,
+                                                   @Positive @PathVariable Long itemId,
+                                                   @Valid @RequestBody CommentRequestDtoGateway requestDto) {
         log.info("GATEWAY: Add new comment {} to item: {} - Started", requestDto, itemId);
 
-        ResponseEntity<Object> commentDto = itemClient.addNewCommentToItem(requestDto, authorId, itemId);
-        log.info("GATEWAY: Comment added to item id: {} - Finished", itemId);
-        return commentDto;
+        return itemClient.addNewCommentToItem(requestDto, authorId, itemId)
+                .doOnNext(commentDto -> log.info("GATEWAY: Comment added to item id: {} - Finished", itemId));
     }
 
     @PostMapping
-    public ResponseEntity<Object> add(@Positive @RequestHeader(HEADER_USER_ID) Long ownerId,
-                                      @Valid @RequestBody ItemDtoGateway itemDto) {
+    public Mono<ResponseEntity<Object>> add(@Positive @RequestHeader(HEADER_USER_ID) Long ownerId,
+                                            @Valid @RequestBody ItemDtoGateway itemDto) {
         log.info("GATEWAY: add: {} - Started", itemDto);
-        ResponseEntity<Object> itemDtoFromRepo = itemClient.addNewItem(ownerId, itemDto);
-        log.info("GATEWAY: create: {} - Finished", itemDtoFromRepo);
-        return itemDtoFromRepo;
+        return itemClient.addNewItem(ownerId, itemDto)
+                .doOnNext(response -> log.info("GATEWAY: create item for user id {}: {} - Finished", ownerId,
+                        response.getStatusCode()));
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@Positive @RequestHeader(HEADER_USER_ID) Long userId,
-                                         @Positive @PathVariable Long itemId,
-                                         @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(@Positive @RequestHeader(HEADER_USER_ID) Long userId,
+                                               @Positive @PathVariable Long itemId,
+                                               @Valid @RequestBody ItemDto itemDto) {
         log.info("GATEWAY: Update {} for item id: {} by user id {}  - Started", itemDto, itemId, userId);
-        ResponseEntity<Object> itemDtoFromRepo = itemClient.updateItem(userId, itemId, itemDto);
-        log.info("GATEWAY: update: {} - Finished", itemDtoFromRepo);
-        return itemDtoFromRepo;
+        return itemClient.updateItem(userId, itemId, itemDto)
+                .doOnNext(response -> log.info("GATEWAY: update item id {}: {} - Finished", itemId,
+                        response.getStatusCode()));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItems(@Positive @RequestHeader(HEADER_USER_ID) Long ownerId) {
+    public Mono<ResponseEntity<Object>> getItems(@Positive @RequestHeader(HEADER_USER_ID) Long ownerId) {
         log.info("GATEWAY: GetItems for user id {} - Started", ownerId);
-        ResponseEntity<Object> itemsOfUser = itemClient.getItems(ownerId);
-        log.info("GATEWAY: Found items of user id {} - GetItems Finished", ownerId);
-        return itemsOfUser;
+        return itemClient.getItems(ownerId)
+                .doOnNext(itemsOfUser -> log.info("GATEWAY: Found items of user id {} - GetItems Finished", ownerId));
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@Positive @RequestHeader(HEADER_USER_ID) Long userId,
-                                          @Positive @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> getItem(@Positive @RequestHeader(HEADER_USER_ID) Long userId,
+                                                @Positive @PathVariable Long itemId,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("GATEWAY: Search for item id {} - Started", itemId);
-        ResponseEntity<Object> itemDto = itemClient.getItem(itemId, userId);
-        log.info("GATEWAY: item {} was found", itemDto);
-        return itemDto;
+        return itemClient.getItem(itemId, userId, ifNoneMatch)
+                .doOnNext(response -> log.info("GATEWAY: item id {} search: {} - Finished", itemId,
+                        response.getStatusCode()));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam(required = false) String text) {
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam(required = false) String text,
+                                                    @RequestParam(name = "cursor", required = false) String cursor,
+                                                    @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        if (cursor != null) {
+            log.info("GATEWAY: Search for available items with text '{}', cursor={}, size={}", text.toLowerCase(),
+                    cursor, size);
+            return itemClient.searchForItemsAfterCursor(text, cursor, size);
+        }
         log.info("GATEWAY: Search for available items with text '{}' - Started", text.toLowerCase());
-        ResponseEntity<Object> searchResult = itemClient.searchForItems(text);
-        log.info("GATEWAY: found text '{}' in Item - Finished", text.toLowerCase());
-        return searchResult;
+        return itemClient.searchForItems(text)
+                .doOnNext(searchResult -> log.info("GATEWAY: found text '{}' in Item - Finished", text.toLowerCase()));
     }
 
     @DeleteMapping("/{itemId}")
-    public void deleteItem(@Positive @RequestHeader(HEADER_USER_ID) Long userId,
-                           @Positive @PathVariable Long itemId) {
+    public Mono<Void> deleteItem(@Positive @RequestHeader(HEADER_USER_ID) Long userId,
+                                 @Positive @PathVariable Long itemId) {
         log.info("GATEWAY: Delete item id {} user id {} - Started", itemId, userId);
-        itemClient.deleteItem(userId, itemId);
-        log.info("GATEWAY: item id {} was deleted", itemId);
+        return itemClient.deleteItem(userId, itemId)
+                .doOnNext(response -> log.info("GATEWAY: item id {} was deleted", itemId))
+                .then();
     }
 
 }
@@ -2,12 +2,15 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ResponseCacheProperties;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -15,31 +18,36 @@ import java.util.Map;
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
+    private static final String ALL_REQUESTS_CACHE_ROUTE = "requests-all";
+
+    private final ResponseCache allRequestsCache;
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                             ReactorClientHttpConnector connector, ResponseCacheProperties cacheProperties) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
                         .build()
         );
+        this.allRequestsCache = responseCache(cacheProperties.getRoute(ALL_REQUESTS_CACHE_ROUTE));
     }
 
-    public ResponseEntity<Object> addNewItemRequest(Long requesterId, ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> addNewItemRequest(Long requesterId, ItemRequestDto itemRequestDto) {
         return post("", requesterId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getItemRequests(Long requesterId) {
+    public Mono<ResponseEntity<Object>> getItemRequests(Long requesterId) {
         return get("", requesterId);
     }
 
-    public ResponseEntity<Object> getAllItemRequests(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllItemRequests(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of("from", from, "size", size);
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return get(allRequestsCache, "/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequest(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> getItemRequest(Long userId, Long requestId, @Nullable String ifNoneMatch) {
+        return getIfNoneMatch("/" + requestId, userId, ifNoneMatch);
     }
 }
@@ -2,11 +2,12 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.dto.UserDtoGateway;
 
@@ -16,32 +17,33 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ReactorClientHttpConnector connector) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(connector)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> create(UserDtoGateway userDto) {
+    public Mono<ResponseEntity<Object>> create(UserDtoGateway userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> update(UserDtoGateway userDto, long id) {
+    public Mono<ResponseEntity<Object>> update(UserDtoGateway userDto, long id) {
         return patch("/" + id, userDto);
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Object>> getUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> getUser(long id) {
-        return get("/" + id);
+    public Mono<ResponseEntity<Object>> getUser(long id, @Nullable String ifNoneMatch) {
+        return getIfNoneMatch("/" + id, null, ifNoneMatch);
     }
 
-    public void delete(Integer userId) {
-        delete("/" + userId);
+    public Mono<ResponseEntity<Object>> delete(Integer userId) {
+        return delete("/" + userId);
     }
 }
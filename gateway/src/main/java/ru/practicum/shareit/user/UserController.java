@@ -2,11 +2,13 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDtoGateway;
 
 import javax.validation.Valid;
@@ -21,42 +23,40 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody UserDtoGateway userDto) {
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody UserDtoGateway userDto) {
         log.info("GATEWAY: Create On GateWay: {} - Started", userDto);
-        ResponseEntity<Object> user = userClient.create(userDto);
-        log.info("GATEWAY: create: {} - Finished", user);
-        return user;
+        return userClient.create(userDto)
+                .doOnNext(response -> log.info("GATEWAY: create: {} - Finished", response.getStatusCode()));
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@Positive @PathVariable("userId") long id,
-                                         @RequestBody UserDtoGateway userDto) {
+    public Mono<ResponseEntity<Object>> update(@Positive @PathVariable("userId") long id,
+                                               @RequestBody UserDtoGateway userDto) {
         log.info("GATEWAY: update {} for user id: {}  - Started", userDto, id);
-        ResponseEntity<Object> user = userClient.update(userDto, id);
-        log.info("GATEWAY: update: {} - Finished", user);
-        return user;
+        return userClient.update(userDto, id)
+                .doOnNext(response -> log.info("GATEWAY: update user id {}: {} - Finished", id, response.getStatusCode()));
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAll() {
+    public Mono<ResponseEntity<Object>> findAll() {
         log.info("GATEWAY: findAll - Started");
-        ResponseEntity<Object> allUsers = userClient.getUsers();
-        return allUsers;
+        return userClient.getUsers();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@Positive @PathVariable("userId") long id) {
+    public Mono<ResponseEntity<Object>> getUser(@Positive @PathVariable("userId") long id,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("GATEWAY: getUser: {} - Started", id);
-        ResponseEntity<Object> user = userClient.getUser(id);
-        log.info("GATEWAY: getUser: {} - Finished", user);
-        return user;
+        return userClient.getUser(id, ifNoneMatch)
+                .doOnNext(response -> log.info("GATEWAY: getUser: {}: {} - Finished", id, response.getStatusCode()));
     }
 
     @DeleteMapping("/{userId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteUser(@Positive @PathVariable("userId") Integer userId) {
+    public Mono<Void> deleteUser(@Positive @PathVariable("userId") Integer userId) {
         log.info("GATEWAY: deleteUser: {} userId - Started", userId);
-        userClient.delete(userId);
-        log.info("GATEWAY: deleteUser: {} userId - Finished", userId);
+        return userClient.delete(userId)
+                .doOnNext(response -> log.info("GATEWAY: deleteUser: {} userId - Finished", userId))
+                .then();
     }
 }
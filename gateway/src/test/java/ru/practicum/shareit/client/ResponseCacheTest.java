@@ -0,0 +1,127 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicReference<Mono<ResponseEntity<Object>>> next = new AtomicReference<>();
+    private ResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties.Route route = new ResponseCacheProperties.Route();
+        route.setEnabled(true);
+        route.setTimeToLive(Duration.ofSeconds(10));
+        route.setRefreshAfter(Duration.ofSeconds(5));
+        cache = new ResponseCache(route, (path, userId, parameters) -> {
+            loads.incrementAndGet();
+            return next.get();
+        }, nanos::get);
+    }
+
+    @Test
+    void whenRequestedTwiceWithinRefreshAfterThenServerIsCalledOnce() {
+        respond(HttpStatus.OK, "first");
+
+        assertThat(get(1L).getBody()).isEqualTo("first");
+        nanos.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertThat(get(1L).getBody()).isEqualTo("first");
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void whenKeysDifferThenResponsesAreCachedSeparately() {
+        respond(HttpStatus.OK, "first");
+        get(1L);
+        get(2L);
+        cache.get("/items/search", 1L, Map.of("text", "drill")).block();
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void whenTimeToLivePassesThenResponseIsReloaded() {
+        respond(HttpStatus.OK, "first");
+        get(1L);
+
+        respond(HttpStatus.OK, "second");
+        nanos.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertThat(get(1L).getBody()).isEqualTo("second");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void whenRefreshAfterPassesThenStaleResponseIsServedWhileRevalidating() {
+        respond(HttpStatus.OK, "first");
+        get(1L);
+
+        respond(HttpStatus.OK, "second");
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        assertThat(get(1L).getBody()).isEqualTo("first");
+        assertThat(loads).hasValue(2);
+        assertThat(get(1L).getBody()).isEqualTo("second");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void whenRefreshRespondsWithErrorStatusThenOldResponseIsKept() {
+        respond(HttpStatus.OK, "first");
+        get(1L);
+
+        respond(HttpStatus.INTERNAL_SERVER_ERROR, "failure");
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        assertThat(get(1L).getBody()).isEqualTo("first");
+        assertThat(get(1L).getBody()).isEqualTo("first");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void whenRefreshFailsThenOldResponseIsKept() {
+        respond(HttpStatus.OK, "first");
+        get(1L);
+
+        next.set(Mono.error(new IllegalStateException("server is down")));
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        assertThat(get(1L).getBody()).isEqualTo("first");
+        assertThat(get(1L).getBody()).isEqualTo("first");
+    }
+
+    @Test
+    void whenServerRespondsWithErrorStatusThenResponseIsNotCached() {
+        respond(HttpStatus.NOT_FOUND, "missing");
+
+        ResponseEntity<Object> response = get(1L);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        respond(HttpStatus.OK, "found");
+        assertThat(get(1L).getBody()).isEqualTo("found");
+        assertThat(loads).hasValue(2);
+    }
+
+    private void respond(HttpStatus status, Object body) {
+        next.set(Mono.just(ResponseEntity.status(status).body(body)));
+    }
+
+    private ResponseEntity<Object> get(Long userId) {
+        return cache.get("/requests/all", userId, Map.of("from", 0, "size", 10)).block();
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.net.http.HttpRequest;
+import java.util.function.Consumer;
+
+@Getter
+@RequiredArgsConstructor
+final class Call {
+    private final String endpoint;
+    private final HttpRequest request;
+    private final Consumer<String> onSuccess;
+
+    Call(String endpoint, HttpRequest request) {
+        this(endpoint, request, body -> {
+        });
+    }
+}
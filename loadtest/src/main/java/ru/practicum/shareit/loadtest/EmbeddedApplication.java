@@ -0,0 +1,83 @@
+package ru.practicum.shareit.loadtest;
+
+import org.springframework.boot.loader.JarLauncher;
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.boot.loader.archive.JarFileArchive;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+final class EmbeddedApplication extends JarLauncher {
+
+    private static final String TOMCAT_URL_HANDLER_FACTORY =
+            "org.apache.catalina.webresources.TomcatURLStreamHandlerFactory";
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String name;
+    private final URI baseUri;
+
+    private EmbeddedApplication(String name, Path jar, int port) throws IOException {
+        super(new JarFileArchive(jar.toFile()));
+        this.name = name;
+        this.baseUri = URI.create("http://localhost:" + port);
+    }
+
+    static EmbeddedApplication start(String name, Path jar, int port, List<String> args) throws Exception {
+        EmbeddedApplication application = new EmbeddedApplication(name, jar, port);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread launcher = new Thread(() -> {
+            try {
+                application.launch(args.toArray(new String[0]));
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        }, name + "-launcher");
+        launcher.start();
+        launcher.join();
+        if (failure.get() != null) {
+            throw new IllegalStateException("Не удалось запустить " + name + " из " + jar, failure.get());
+        }
+        System.out.printf("%s запущен на %s%n", name, application.baseUri);
+        return application;
+    }
+
+    @Override
+    protected ClassLoader createClassLoader(Iterator<Archive> archives) throws Exception {
+        ClassLoader classLoader = super.createClassLoader(archives);
+        // URL.setURLStreamHandlerFactory работает один раз на JVM, второй Tomcat в ней без этого не стартует
+        try {
+            Class.forName(TOMCAT_URL_HANDLER_FACTORY, true, classLoader).getMethod("disable").invoke(null);
+        } catch (ClassNotFoundException e) {
+            // в приложении нет Tomcat
+        }
+        return classLoader;
+    }
+
+    void stop(HttpClient client) throws IOException, InterruptedException {
+        HttpRequest shutdown = HttpRequest.newBuilder(baseUri.resolve("/actuator/shutdown"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        client.send(shutdown, HttpResponse.BodyHandlers.discarding());
+        HttpRequest health = HttpRequest.newBuilder(baseUri.resolve("/actuator/health")).build();
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                client.send(health, HttpResponse.BodyHandlers.discarding());
+                Thread.sleep(200);
+            } catch (ConnectException e) {
+                System.out.printf("%s остановлен%n", name);
+                return;
+            }
+        }
+        throw new IllegalStateException(name + " не остановился за " + SHUTDOWN_TIMEOUT);
+    }
+}
@@ -0,0 +1,175 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String TOTAL = "total";
+
+    private final Path directory;
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+    private final ScheduledExecutorService intervals = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "latency-report");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long startMillis;
+
+    LatencyReport(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    void start() {
+        startMillis = System.currentTimeMillis();
+        intervals.scheduleAtFixedRate(this::flushIntervals, 1, 1, TimeUnit.SECONDS);
+    }
+
+    void record(String endpoint, long latencyNanos, int status) {
+        Endpoint stats = endpoint(endpoint);
+        stats.recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        if (status / 100 != 2) {
+            stats.errors.increment();
+        }
+    }
+
+    void dropped(String endpoint) {
+        endpoint(endpoint).dropped.increment();
+    }
+
+    List<Summary> finish(Duration duration) throws IOException, InterruptedException {
+        intervals.shutdown();
+        intervals.awaitTermination(5, TimeUnit.SECONDS);
+        flushIntervals();
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long allErrors = 0;
+        long allDropped = 0;
+        List<Summary> summaries = new ArrayList<>();
+        for (Endpoint endpoint : endpoints.values()) {
+            endpoint.log.close();
+            writePercentiles(endpoint.name, endpoint.total);
+            summaries.add(summarize(endpoint.name, endpoint.total, endpoint.errors.sum(), endpoint.dropped.sum(),
+                    duration));
+            all.add(endpoint.total);
+            allErrors += endpoint.errors.sum();
+            allDropped += endpoint.dropped.sum();
+        }
+        writePercentiles(TOTAL, all);
+        summaries.add(summarize(TOTAL, all, allErrors, allDropped, duration));
+        writeSummary(summaries);
+        return summaries;
+    }
+
+    static String format(List<Summary> summaries) {
+        StringBuilder table = new StringBuilder(String.format("%-26s %9s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "req/s", "errors", "dropped", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms"));
+        for (Summary summary : summaries) {
+            table.append(String.format("%-26s %9d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    summary.endpoint, summary.count, summary.throughput, summary.errors, summary.dropped,
+                    summary.p50, summary.p95, summary.p99, summary.p999, summary.max));
+        }
+        return table.toString();
+    }
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, this::newEndpoint);
+    }
+
+    private Endpoint newEndpoint(String name) {
+        try {
+            HistogramLogWriter log = new HistogramLogWriter(directory.resolve(name + ".hlog").toFile());
+            log.outputLogFormatVersion();
+            log.outputStartTime(startMillis);
+            log.setBaseTime(startMillis);
+            log.outputLegend();
+            return new Endpoint(name, log);
+        } catch (FileNotFoundException e) {
+            throw new IllegalStateException("Не удалось создать журнал задержек " + name, e);
+        }
+    }
+
+    private void flushIntervals() {
+        for (Endpoint endpoint : endpoints.values()) {
+            synchronized (endpoint) {
+                endpoint.interval = endpoint.recorder.getIntervalHistogram(endpoint.interval);
+                endpoint.log.outputIntervalHistogram((endpoint.interval.getStartTimeStamp() - startMillis) / 1000.0,
+                        (endpoint.interval.getEndTimeStamp() - startMillis) / 1000.0, endpoint.interval,
+                        MICROS_PER_MILLI);
+                endpoint.total.add(endpoint.interval);
+            }
+        }
+    }
+
+    private void writePercentiles(String name, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")), false,
+                StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private void writeSummary(List<Summary> summaries) throws IOException {
+        Files.writeString(directory.resolve("summary.txt"), format(summaries));
+    }
+
+    private static Summary summarize(String name, Histogram histogram, long errors, long dropped, Duration duration) {
+        return new Summary(name, histogram.getTotalCount(),
+                histogram.getTotalCount() / (duration.toMillis() / MICROS_PER_MILLI), errors, dropped,
+                histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(95) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static final class Summary {
+        private final String endpoint;
+        private final long count;
+        private final double throughput;
+        private final long errors;
+        private final long dropped;
+        private final double p50;
+        private final double p95;
+        private final double p99;
+        private final double p999;
+        private final double max;
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final HistogramLogWriter log;
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private Histogram interval;
+
+        Endpoint(String name, HistogramLogWriter log) {
+            this.name = name;
+            this.log = log;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class LoadTest {
+
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Path runDirectory = options.getOutput().resolve(LocalDateTime.now().format(RUN_ID));
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        Map<String, List<LatencyReport.Summary>> results = new LinkedHashMap<>();
+        for (boolean virtualThreads : options.getVirtualThreadModes()) {
+            String mode = virtualThreads ? "virtual-threads" : "platform-threads";
+            try {
+                results.put(mode, run(options, httpClient, virtualThreads, runDirectory.resolve(mode)));
+            } catch (IllegalStateException e) {
+                System.out.printf("Прогон %s пропущен: %s%n", mode, rootCause(e));
+            }
+        }
+        if (results.size() > 1) {
+            String comparison = compare(results);
+            Files.writeString(runDirectory.resolve("comparison.txt"), comparison);
+            System.out.print(comparison);
+        }
+        System.out.printf("Результаты сохранены в %s%n", runDirectory.toAbsolutePath());
+        System.exit(results.isEmpty() ? 1 : 0);
+    }
+
+    private static List<LatencyReport.Summary> run(LoadTestOptions options, HttpClient httpClient,
+                                                   boolean virtualThreads, Path directory) throws Exception {
+        EmbeddedApplication server = EmbeddedApplication.start("shareit-server",
+                options.getApplications().resolve("shareit-server.jar"), options.getServerPort(), List.of(
+                        "--spring.profiles.active=test",
+                        "--server.port=" + options.getServerPort(),
+                        "--shareit.threads.virtual.enabled=" + virtualThreads,
+                        "--management.endpoints.web.exposure.include=health,shutdown",
+                        "--management.endpoint.shutdown.enabled=true",
+                        "--logging.level.root=warn"));
+        EmbeddedApplication gateway;
+        try {
+            gateway = EmbeddedApplication.start("shareit-gateway",
+                    options.getApplications().resolve("shareit-gateway.jar"), options.getGatewayPort(), List.of(
+                            "--server.port=" + options.getGatewayPort(),
+                            "--shareit-server.url=http://localhost:" + options.getServerPort(),
+                            "--management.endpoints.web.exposure.include=health,shutdown",
+                            "--management.endpoint.shutdown.enabled=true",
+                            "--logging.level.root=warn",
+                            "--logging.level.org.springframework.web.reactive.function.client.ExchangeFunctions=warn"));
+        } catch (IllegalStateException e) {
+            server.stop(httpClient);
+            throw e;
+        }
+        try {
+            ShareItClient client = new ShareItClient(httpClient, options.getGatewayPort());
+            Workload workload = new Workload(client, options.getSeed());
+            workload.populate(options.getUsers(), options.getItems(), options.getRequests());
+            LatencyReport report = new LatencyReport(directory);
+            System.out.printf("Нагрузка %d запросов/с: прогрев %d с, замер %d с%n", options.getRate(),
+                    options.getWarmup().toSeconds(), options.getDuration().toSeconds());
+            new OpenLoadGenerator(client, workload, report, options.getMaxInFlight())
+                    .run(options.getRate(), options.getWarmup(), options.getDuration());
+            List<LatencyReport.Summary> summaries = report.finish(options.getDuration());
+            System.out.print(LatencyReport.format(summaries));
+            return summaries;
+        } finally {
+            gateway.stop(httpClient);
+            server.stop(httpClient);
+        }
+    }
+
+    private static String compare(Map<String, List<LatencyReport.Summary>> results) {
+        StringBuilder table = new StringBuilder(String.format("%-26s", "endpoint"));
+        for (String mode : results.keySet()) {
+            table.append(String.format(" %18s %18s", mode + " req/s", mode + " p99"));
+        }
+        table.append(System.lineSeparator());
+        List<LatencyReport.Summary> first = results.values().iterator().next();
+        for (LatencyReport.Summary summary : first) {
+            table.append(String.format("%-26s", summary.getEndpoint()));
+            for (List<LatencyReport.Summary> summaries : results.values()) {
+                summaries.stream()
+                        .filter(other -> other.getEndpoint().equals(summary.getEndpoint()))
+                        .findFirst()
+                        .ifPresentOrElse(other -> table.append(String.format(" %18.1f %18.2f",
+                                other.getThroughput(), other.getP99())),
+                                () -> table.append(String.format(" %18s %18s", "-", "-")));
+            }
+            table.append(System.lineSeparator());
+        }
+        return table.toString();
+    }
+
+    private static Throwable rootCause(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
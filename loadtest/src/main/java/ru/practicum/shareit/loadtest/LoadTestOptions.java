@@ -0,0 +1,111 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+final class LoadTestOptions {
+
+    private int rate = 100;
+    private Duration warmup = Duration.ofSeconds(15);
+    private Duration duration = Duration.ofSeconds(60);
+    private int users = 200;
+    private int items = 600;
+    private int requests = 100;
+    private int maxInFlight = 2000;
+    private int serverPort = 19090;
+    private int gatewayPort = 18080;
+    private long seed = 42;
+    private List<Boolean> virtualThreadModes = List.of(false);
+    private Path output = Path.of("loadtest-results");
+    private Path applications = defaultApplications();
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Ожидается параметр вида --name=value: " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions();
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            options.set(value.getKey(), value.getValue());
+        }
+        return options;
+    }
+
+    private void set(String name, String value) {
+        switch (name) {
+            case "rate":
+                rate = Integer.parseInt(value);
+                break;
+            case "warmup":
+                warmup = Duration.ofSeconds(Long.parseLong(value));
+                break;
+            case "duration":
+                duration = Duration.ofSeconds(Long.parseLong(value));
+                break;
+            case "users":
+                users = Integer.parseInt(value);
+                break;
+            case "items":
+                items = Integer.parseInt(value);
+                break;
+            case "requests":
+                requests = Integer.parseInt(value);
+                break;
+            case "max-in-flight":
+                maxInFlight = Integer.parseInt(value);
+                break;
+            case "server-port":
+                serverPort = Integer.parseInt(value);
+                break;
+            case "gateway-port":
+                gatewayPort = Integer.parseInt(value);
+                break;
+            case "seed":
+                seed = Long.parseLong(value);
+                break;
+            case "virtual-threads":
+                virtualThreadModes = parseModes(value);
+                break;
+            case "output":
+                output = Path.of(value);
+                break;
+            case "applications":
+                applications = Path.of(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Неизвестный параметр: --" + name);
+        }
+    }
+
+    private static List<Boolean> parseModes(String value) {
+        switch (value) {
+            case "off":
+                return List.of(false);
+            case "on":
+                return List.of(true);
+            case "both":
+                return List.of(false, true);
+            default:
+                throw new IllegalArgumentException("Параметр --virtual-threads принимает значения off, on или both");
+        }
+    }
+
+    private static Path defaultApplications() {
+        try {
+            Path jar = Path.of(LoadTestOptions.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            return jar.resolveSibling("apps");
+        } catch (URISyntaxException e) {
+            return Path.of("apps");
+        }
+    }
+}
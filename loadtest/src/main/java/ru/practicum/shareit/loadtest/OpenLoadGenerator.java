@@ -0,0 +1,65 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+final class OpenLoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ShareItClient client;
+    private final Workload workload;
+    private final LatencyReport report;
+    private final int maxInFlight;
+
+    OpenLoadGenerator(ShareItClient client, Workload workload, LatencyReport report, int maxInFlight) {
+        this.client = client;
+        this.workload = workload;
+        this.report = report;
+        this.maxInFlight = maxInFlight;
+    }
+
+    void run(int rate, Duration warmup, Duration duration) throws InterruptedException {
+        long period = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        boolean measuring = false;
+        for (long intended = start; intended < end; intended += period) {
+            long delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            boolean measured = intended >= measureFrom;
+            if (measured && !measuring) {
+                report.start();
+                measuring = true;
+            }
+            Call call = workload.next();
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    report.dropped(call.getEndpoint());
+                }
+                continue;
+            }
+            long scheduledAt = intended;
+            client.send(call.getRequest()).whenComplete((response, error) -> {
+                long latency = System.nanoTime() - scheduledAt;
+                inFlight.release();
+                if (measured) {
+                    report.record(call.getEndpoint(), latency, response == null ? 0 : response.statusCode());
+                }
+                if (response != null && response.statusCode() / 100 == 2) {
+                    call.getOnSuccess().accept(response.body());
+                }
+            });
+        }
+        if (!inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            System.out.printf("Не дождались %d запросов за %s%n", maxInFlight - inFlight.availablePermits(),
+                    DRAIN_TIMEOUT);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class ShareItClient {
+
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+
+    ShareItClient(HttpClient httpClient, int port) {
+        this.httpClient = httpClient;
+        this.baseUri = URI.create("http://localhost:" + port);
+    }
+
+    HttpRequest get(String path, long userId) {
+        return builder(path, userId).GET().build();
+    }
+
+    HttpRequest post(String path, long userId, String json) {
+        return builder(path, userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    HttpRequest patch(String path, long userId) {
+        return builder(path, userId).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    long create(HttpRequest request) {
+        HttpResponse<String> response = send(request).join();
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Запрос " + request.method() + " " + request.uri() + " вернул "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return idOf(response.body());
+    }
+
+    static long idOf(String body) {
+        Matcher matcher = ID.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("В ответе нет идентификатора: " + body);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private HttpRequest.Builder builder(String path, long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+        return userId > 0 ? builder.header(HEADER_USER_ID, Long.toString(userId)) : builder;
+    }
+}
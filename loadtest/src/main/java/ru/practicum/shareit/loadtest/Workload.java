@@ -0,0 +1,170 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class Workload {
+
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final String[] WORDS = {"дрель", "перфоратор", "шуруповёрт", "лестница", "палатка",
+            "велосипед", "drill", "ladder", "tent", "bike", "аккумуляторная", "новая", "почти", "не", "пользовались"};
+    private static final int PAGE_SIZE = 20;
+    private static final int BOOKING_HORIZON_HOURS = 365 * 24;
+
+    private final ShareItClient client;
+    private final Random random;
+    private final List<Long> users = new CopyOnWriteArrayList<>();
+    private final List<long[]> items = new CopyOnWriteArrayList<>();
+    private final Queue<long[]> waitingBookings = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    Workload(ShareItClient client, long seed) {
+        this.client = client;
+        this.random = new Random(seed);
+    }
+
+    void populate(int userCount, int itemCount, int requestCount) {
+        for (int i = 0; i < userCount; i++) {
+            users.add(client.create(createUser().getRequest()));
+        }
+        long[] requests = new long[requestCount];
+        for (int i = 0; i < requestCount; i++) {
+            requests[i] = client.create(client.post("/requests", randomUser(),
+                    "{\"description\":\"" + text(3, 10) + "\"}"));
+        }
+        for (int i = 0; i < itemCount; i++) {
+            long ownerId = randomUser();
+            String requestId = requestCount > 0 && random.nextInt(3) == 0
+                    ? ",\"requestId\":" + requests[random.nextInt(requestCount)] : "";
+            items.add(new long[]{client.create(client.post("/items", ownerId, itemJson(requestId))), ownerId});
+        }
+        System.out.printf("Созданы %d пользователей, %d запросов и %d вещей%n", userCount, requestCount, itemCount);
+    }
+
+    Call next() {
+        switch (Operation.pick(random.nextInt(Operation.TOTAL_WEIGHT))) {
+            case CREATE_USER:
+                return createUser();
+            case CREATE_ITEM:
+                return createItem();
+            case CREATE_BOOKING:
+                return createBooking();
+            case APPROVE_BOOKING:
+                return approveBooking();
+            case BOOKER_BOOKINGS:
+                String state = STATES[random.nextInt(STATES.length)];
+                return new Call("bookings-booker-" + state.toLowerCase(), client.get("/bookings?state=" + state
+                        + "&from=0&size=" + PAGE_SIZE, randomUser()));
+            case OWNER_BOOKINGS:
+                String ownerState = STATES[random.nextInt(STATES.length)];
+                return new Call("bookings-owner-" + ownerState.toLowerCase(), client.get("/bookings/owner?state="
+                        + ownerState + "&from=0&size=" + PAGE_SIZE, randomItem()[1]));
+            case SEARCH:
+                String text = URLEncoder.encode(WORDS[random.nextInt(WORDS.length)], StandardCharsets.UTF_8);
+                return new Call("items-search", client.get("/items/search?text=" + text + "&size=" + PAGE_SIZE,
+                        randomUser()));
+            default:
+                return new Call("requests-all", client.get("/requests/all?from=0&size=" + PAGE_SIZE, randomUser()));
+        }
+    }
+
+    private Call createUser() {
+        long number = sequence.incrementAndGet();
+        HttpRequest request = client.post("/users", 0, "{\"name\":\"" + text(1, 3) + "\",\"email\":\"load"
+                + number + "-" + random.nextInt(1_000_000) + "@shareit.ru\"}");
+        return new Call("users-create", request, body -> users.add(ShareItClient.idOf(body)));
+    }
+
+    private Call createItem() {
+        long ownerId = randomUser();
+        return new Call("items-create", client.post("/items", ownerId, itemJson("")),
+                body -> items.add(new long[]{ShareItClient.idOf(body), ownerId}));
+    }
+
+    private Call createBooking() {
+        long[] item = randomItem();
+        long bookerId = randomUser();
+        if (bookerId == item[1]) {
+            bookerId = users.get((users.indexOf(bookerId) + 1) % users.size());
+        }
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                .plusHours(1 + random.nextInt(BOOKING_HORIZON_HOURS));
+        LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+        HttpRequest request = client.post("/bookings", bookerId, "{\"itemId\":" + item[0] + ",\"start\":\""
+                + start + "\",\"end\":\"" + end + "\"}");
+        return new Call("bookings-create", request,
+                body -> waitingBookings.add(new long[]{ShareItClient.idOf(body), item[1]}));
+    }
+
+    private Call approveBooking() {
+        long[] booking = waitingBookings.poll();
+        if (booking == null) {
+            return createBooking();
+        }
+        return new Call("bookings-approve", client.patch("/bookings/" + booking[0] + "?approved="
+                + (random.nextInt(4) > 0), booking[1]));
+    }
+
+    private String itemJson(String requestId) {
+        return "{\"name\":\"" + text(1, 3) + "\",\"description\":\"" + text(3, 10) + "\",\"available\":true"
+                + requestId + "}";
+    }
+
+    private long randomUser() {
+        return users.get(random.nextInt(users.size()));
+    }
+
+    private long[] randomItem() {
+        return items.get(random.nextInt(items.size()));
+    }
+
+    private String text(int minWords, int maxWords) {
+        int words = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private enum Operation {
+        CREATE_USER(4),
+        CREATE_ITEM(6),
+        CREATE_BOOKING(12),
+        APPROVE_BOOKING(6),
+        BOOKER_BOOKINGS(18),
+        OWNER_BOOKINGS(18),
+        SEARCH(20),
+        REQUESTS_FEED(16);
+
+        static final int TOTAL_WEIGHT = 100;
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        static Operation pick(int roll) {
+            for (Operation operation : values()) {
+                if (roll < operation.weight) {
+                    return operation;
+                }
+                roll -= operation.weight;
+            }
+            return REQUESTS_FEED;
+        }
+    }
+}
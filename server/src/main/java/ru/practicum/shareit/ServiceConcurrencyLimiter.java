@@ -0,0 +1,45 @@
+package ru.practicum.shareit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.concurrent.Semaphore;
+
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceConcurrencyLimiter {
+
+    private final Semaphore permits;
+    private final ThreadLocal<Boolean> holding = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    public ServiceConcurrencyLimiter(int maxConcurrentCalls) {
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (holding.get()) {
+            return joinPoint.proceed();
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание свободного соединения с базой данных прервано", e);
+        }
+        holding.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            holding.remove();
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        log.info("Запросы обрабатываются в виртуальных потоках.");
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public ServiceConcurrencyLimiter serviceConcurrencyLimiter(HikariDataSource dataSource) {
+        int maximumPoolSize = dataSource.getMaximumPoolSize();
+        log.info("Одновременно выполняется не более {} вызовов сервисов.", maximumPoolSize);
+        return new ServiceConcurrencyLimiter(maximumPoolSize);
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+            ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+}
@@ -2,14 +2,20 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingListDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.NotAvailableException;
 
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -19,6 +25,7 @@ public class BookingController {
 
     private final BookingService bookingService;
     private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @PostMapping
     public BookingDtoResponse createBooking(@RequestHeader(REQUEST_HEADER) Long bookerId,
@@ -30,6 +37,14 @@ public class BookingController {
         return bookingService.createBooking(bookerId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createBookings(@RequestHeader(REQUEST_HEADER) Long bookerId,
+                                                      @RequestBody BookingBatchDto batch) {
+        log.info("SERVER: Поступил пакет из {} бронирований от пользователя с id = {} .", batch.getBookings().size(),
+                bookerId);
+        return bookingService.createBookings(bookerId, batch);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDtoResponse approvedOrRejected(@RequestParam(name = "approved") Boolean approved,
                                                  @RequestHeader(REQUEST_HEADER) Long ownerId,
@@ -38,6 +53,14 @@ public class BookingController {
         return bookingService.approvedOrRejected(approved, ownerId, bookingId);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingBatchResultDto> approvedOrRejectedAll(@RequestParam(name = "approved") Boolean approved,
+                                                             @RequestHeader(REQUEST_HEADER) Long ownerId,
+                                                             @RequestBody List<Long> bookingIds) {
+        log.info("SERVER: Подтверждение или отклонение {} запросов на бронирование", bookingIds.size());
+        return bookingService.approvedOrRejectedAll(approved, ownerId, bookingIds);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDtoResponse getBooking(@RequestHeader(REQUEST_HEADER) Long userId,
                                          @PathVariable long bookingId) {
@@ -46,7 +69,7 @@ public class BookingController {
     }
 
     @GetMapping
-    public Collection<BookingDtoResponse> getBookingsByBookerId(@RequestHeader(REQUEST_HEADER) Long userId,
+    public Collection<BookingListDto> getBookingsByBookerId(@RequestHeader(REQUEST_HEADER) Long userId,
                                                                 @RequestParam(defaultValue = "ALL") BookingState state,
                                                                 @RequestParam(defaultValue = "0") Integer from,
                                                                 @RequestParam(defaultValue = "10") Integer size) {
@@ -55,7 +78,7 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public Collection<BookingDtoResponse> getBookingsByOwnerId(@RequestHeader(REQUEST_HEADER) Long ownerId,
+    public Collection<BookingListDto> getBookingsByOwnerId(@RequestHeader(REQUEST_HEADER) Long ownerId,
                                                                @RequestParam(defaultValue = "ALL") BookingState state,
                                                                @RequestParam(defaultValue = "0") Integer from,
                                                                @RequestParam(defaultValue = "10") Integer size) {
@@ -63,4 +86,32 @@ public class BookingController {
         return bookingService.getBookingsByOwnerId(state, ownerId, from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<BookingListDto>> getBookingsByBookerIdAfterCursor(
+            @RequestHeader(REQUEST_HEADER) Long userId,
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") Integer size) {
+        log.info("SERVER: Получение страницы бронирований пользователя по его id после курсора");
+        return toCursorResponse(bookingService.getBookingsByBookerIdAfterCursor(state, userId, cursor, size));
+    }
+
+    @GetMapping(path = "/owner", params = "cursor")
+    public ResponseEntity<List<BookingListDto>> getBookingsByOwnerIdAfterCursor(
+            @RequestHeader(REQUEST_HEADER) Long ownerId,
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") Integer size) {
+        log.info("SERVER: Получение страницы бронирований для вещей пользователя по его id после курсора");
+        return toCursorResponse(bookingService.getBookingsByOwnerIdAfterCursor(state, ownerId, cursor, size));
+    }
+
+    private ResponseEntity<List<BookingListDto>> toCursorResponse(BookingCursorPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
+    }
+
 }
@@ -3,7 +3,9 @@ package ru.practicum.shareit.booking.mapper;
 import ru.practicum.shareit.booking.dto.BookingBookerDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingListDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListView;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -58,13 +60,23 @@ public class BookingMapper {
                 .build();
     }
 
-    public static List<BookingDtoResponse> toBookingDtoList(Iterable<Booking> bookings) {
-        List<BookingDtoResponse> result = new ArrayList<>();
+    public static BookingListDto toBookingListDto(BookingListView view) {
+        return BookingListDto.builder()
+                .id(view.getId())
+                .start(view.getStart())
+                .end(view.getEnd())
+                .status(view.getStatus())
+                .item(new BookingListDto.ItemShort(view.getItemId(), view.getItemName()))
+                .booker(new BookingListDto.BookerShort(view.getBookerId()))
+                .build();
+    }
 
-        for (Booking booking : bookings) {
-            result.add(toBookingDtoResponseFromBooking(booking));
+    public static List<BookingListDto> toBookingListDtoList(Iterable<BookingListView> views) {
+        List<BookingListDto> result = new ArrayList<>();
+
+        for (BookingListView view : views) {
+            result.add(toBookingListDto(view));
         }
         return result;
     }
 }
-
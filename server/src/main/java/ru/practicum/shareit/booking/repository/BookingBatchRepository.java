@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+public interface BookingBatchRepository {
+
+    @Transactional
+    List<Booking> insertAll(List<Booking> bookings);
+
+    @Transactional
+    int[] updateAllStatusIfWaiting(List<Booking> bookings, Long ownerId, Status status);
+}
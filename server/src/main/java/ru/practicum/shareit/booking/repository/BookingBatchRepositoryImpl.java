@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.Session;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+
+public class BookingBatchRepositoryImpl implements BookingBatchRepository {
+
+    private static final String INSERT = "INSERT INTO bookings (start_time, end_time, item_id, booker_id, " +
+            "booking_status) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_STATUS_IF_WAITING = "UPDATE bookings SET booking_status = ?, " +
+            "version = version + 1 WHERE booking_id = ? AND version = ? AND booking_status = 'WAITING' " +
+            "AND item_id IN (SELECT item_id FROM items WHERE owner_id = ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"booking_id"})) {
+                for (Booking booking : bookings) {
+                    statement.setTimestamp(1, Timestamp.valueOf(booking.getStart()));
+                    statement.setTimestamp(2, Timestamp.valueOf(booking.getEnd()));
+                    statement.setLong(3, booking.getItem().getId());
+                    statement.setLong(4, booking.getBooker().getId());
+                    statement.setString(5, booking.getStatus().name());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (Booking booking : bookings) {
+                        keys.next();
+                        booking.setId(keys.getLong(1));
+                    }
+                }
+            }
+        });
+        return bookings;
+    }
+
+    @Override
+    public int[] updateAllStatusIfWaiting(List<Booking> bookings, Long ownerId, Status status) {
+        if (bookings.isEmpty()) {
+            return new int[0];
+        }
+        Session session = entityManager.unwrap(Session.class);
+        int[] counts = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_STATUS_IF_WAITING)) {
+                for (Booking booking : bookings) {
+                    statement.setString(1, status.name());
+                    statement.setLong(2, booking.getId());
+                    statement.setLong(3, booking.getVersion());
+                    statement.setLong(4, ownerId);
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+        session.clear();
+        return counts;
+    }
+}
@@ -1,58 +1,184 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListView;
 import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.utils.ChangeStamp;
 
+import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingBatchRepository {
 
-    Booking findFirstByItemIdAndStartBeforeAndStatusOrderByEndDesc(Long itemId, LocalDateTime end, Status status);
+    String BOOKING_VIEW = "SELECT b.id AS id, b.start AS start, b.end AS end, b.status AS status, " +
+            "i.id AS itemId, i.name AS itemName, b.booker.id AS bookerId " +
+            "FROM Booking AS b JOIN b.item AS i ";
 
-    Booking findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(Long itemId, LocalDateTime start, Status status);
+    String BY_BOOKER = "WHERE b.booker.id = :userId ";
 
-    Page<Booking> findAllByBookerIdOrderByStartDesc(Long bookerId, PageRequest pageRequest);
+    String BY_OWNER = "WHERE i.owner.id = :userId ";
 
-    Page<Booking> findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-            Long bookerId, LocalDateTime start, LocalDateTime end, PageRequest pageRequest);
+    String BEFORE_CURSOR = "AND b.start <= :start AND (b.start < :start OR (b.start = :start AND b.id < :id)) ";
 
-    Page<Booking> findAllByBookerIdAndEndIsBeforeOrderByStartDesc(Long bookerId, LocalDateTime end, PageRequest pageRequest);
+    String CURRENT = "AND b.start < :now AND b.end > :now ";
 
-    Page<Booking> findAllByBookerIdAndStartIsAfterOrderByStartDesc(Long bookerId, LocalDateTime start, PageRequest pageRequest);
+    String PAST = "AND b.end < :now ";
 
-    Page<Booking> findAllByBookerIdAndStatusIsOrderByStartDesc(Long bookerId, Status status, PageRequest pageRequest);
+    String FUTURE = "AND b.start > :now ";
 
-    Page<Booking> findAllByItemIdInOrderByStartDesc(Collection<Long> itemId, PageRequest pageRequest);
+    String WITH_STATUS = "AND b.status = :status ";
 
-    Page<Booking> findAllByItemIdInAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-            Collection<Long> itemId, LocalDateTime start, LocalDateTime end, PageRequest pageRequest);
+    String VIEW_ORDER = "ORDER BY b.start DESC, b.id DESC";
 
-    Page<Booking> findAllByItemIdInAndEndIsBeforeOrderByStartDesc(Collection<Long> itemId, LocalDateTime end, PageRequest pageRequest);
+    @Override
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long id);
 
-    Page<Booking> findAllByItemIdInAndStartIsAfterOrderByStartDesc(Collection<Long> itemId, LocalDateTime start, PageRequest pageRequest);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    List<Booking> findAllByIdIn(Collection<Long> ids);
 
-    Page<Booking> findAllByItemIdInAndStatusIsOrderByStartDesc(Collection<Long> itemId, Status status, PageRequest pageRequest);
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking AS b SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id = :bookingId AND b.status = ru.practicum.shareit.booking.model.Status.WAITING " +
+            "AND b.item.id IN (SELECT i.id FROM Item AS i WHERE i.owner.id = :ownerId)")
+    int updateStatusIfWaiting(@Param("bookingId") Long bookingId, @Param("ownerId") Long ownerId,
+                              @Param("status") Status status);
 
+    @Query("SELECT COUNT(b) AS count, MAX(b.id) AS maxId, " +
+            "SUM(CASE WHEN b.start < :now THEN 1 ELSE 0 END) AS checksum FROM Booking AS b " +
+            "WHERE b.item.id = :itemId AND b.status = :status")
+    ChangeStamp findChangeStampByItemId(@Param("itemId") Long itemId, @Param("now") LocalDateTime now,
+                                        @Param("status") Status status);
+
+    @Query("SELECT b FROM Booking AS b " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.item.id IN :itemIds AND b.status = :status AND b.start < :now " +
+            "AND b.end = (SELECT MAX(l.end) FROM Booking AS l " +
+            "WHERE l.item.id = b.item.id AND l.status = :status AND l.start < :now)")
+    List<Booking> findLastBookingsByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                             @Param("now") LocalDateTime now,
+                                             @Param("status") Status status);
+
+    @Query("SELECT b FROM Booking AS b " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.item.id IN :itemIds AND b.status = :status AND b.start > :now " +
+            "AND b.start = (SELECT MIN(n.start) FROM Booking AS n " +
+            "WHERE n.item.id = b.item.id AND n.status = :status AND n.start > :now)")
+    List<Booking> findNextBookingsByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                             @Param("now") LocalDateTime now,
+                                             @Param("status") Status status);
+
+    @Query(BOOKING_VIEW + BY_BOOKER + VIEW_ORDER)
+    Slice<BookingListView> findBookerAll(@Param("userId") Long userId, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_BOOKER + CURRENT + VIEW_ORDER)
+    Slice<BookingListView> findBookerCurrent(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+            PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_BOOKER + PAST + VIEW_ORDER)
+    Slice<BookingListView> findBookerPast(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+            PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_BOOKER + FUTURE + VIEW_ORDER)
+    Slice<BookingListView> findBookerFuture(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+            PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_BOOKER + WITH_STATUS + VIEW_ORDER)
+    Slice<BookingListView> findBookerByStatus(@Param("userId") Long userId, @Param("status") Status status,
+            PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_OWNER + VIEW_ORDER)
+    Slice<BookingListView> findOwnerAll(@Param("userId") Long userId, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_OWNER + CURRENT + VIEW_ORDER)
+    Slice<BookingListView> findOwnerCurrent(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+            PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_OWNER + PAST + VIEW_ORDER)
+    Slice<BookingListView> findOwnerPast(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+            PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_OWNER + FUTURE + VIEW_ORDER)
+    Slice<BookingListView> findOwnerFuture(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+            PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_OWNER + WITH_STATUS + VIEW_ORDER)
+    Slice<BookingListView> findOwnerByStatus(@Param("userId") Long userId, @Param("status") Status status,
+            PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_BOOKER + BEFORE_CURSOR + VIEW_ORDER)
+    Slice<BookingListView> findBookerAllBeforeCursor(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("id") Long id, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_BOOKER + BEFORE_CURSOR + CURRENT + VIEW_ORDER)
+    Slice<BookingListView> findBookerCurrentBeforeCursor(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("id") Long id, @Param("now") LocalDateTime now, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_BOOKER + BEFORE_CURSOR + PAST + VIEW_ORDER)
+    Slice<BookingListView> findBookerPastBeforeCursor(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("id") Long id, @Param("now") LocalDateTime now, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_BOOKER + BEFORE_CURSOR + FUTURE + VIEW_ORDER)
+    Slice<BookingListView> findBookerFutureBeforeCursor(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("id") Long id, @Param("now") LocalDateTime now, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_BOOKER + BEFORE_CURSOR + WITH_STATUS + VIEW_ORDER)
+    Slice<BookingListView> findBookerByStatusBeforeCursor(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("id") Long id, @Param("status") Status status, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_OWNER + BEFORE_CURSOR + VIEW_ORDER)
+    Slice<BookingListView> findOwnerAllBeforeCursor(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("id") Long id, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_OWNER + BEFORE_CURSOR + CURRENT + VIEW_ORDER)
+    Slice<BookingListView> findOwnerCurrentBeforeCursor(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("id") Long id, @Param("now") LocalDateTime now, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_OWNER + BEFORE_CURSOR + PAST + VIEW_ORDER)
+    Slice<BookingListView> findOwnerPastBeforeCursor(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("id") Long id, @Param("now") LocalDateTime now, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_OWNER + BEFORE_CURSOR + FUTURE + VIEW_ORDER)
+    Slice<BookingListView> findOwnerFutureBeforeCursor(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("id") Long id, @Param("now") LocalDateTime now, PageRequest pageRequest);
+
+    @Query(BOOKING_VIEW + BY_OWNER + BEFORE_CURSOR + WITH_STATUS + VIEW_ORDER)
+    Slice<BookingListView> findOwnerByStatusBeforeCursor(@Param("userId") Long userId, @Param("start") LocalDateTime start,
+            @Param("id") Long id, @Param("status") Status status, PageRequest pageRequest);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
             Long bookerId, LocalDateTime start, LocalDateTime end);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByBookerIdAndStartIsAfterOrderByStartDesc(Long bookerId, LocalDateTime start);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     List<Booking> findAllByBookerIdAndStatusIsOrderByStartDesc(Long bookerId, Status status);
 
-    List<Booking> findAllByItemIdInAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-            Collection<Long> itemId, LocalDateTime start, LocalDateTime end);
-
-    List<Booking> findAllByItemIdInAndStartIsAfterOrderByStartDesc(Collection<Long> itemId, LocalDateTime start);
+    @Query("SELECT b FROM Booking AS b " +
+            "WHERE b.item.id = :itemId AND b.status IN :statuses AND b.end > :end")
+    List<Booking> findAllByItemIdAndStatusInAndEndIsAfter(@Param("itemId") Long itemId,
+                                                          @Param("statuses") Collection<Status> statuses,
+                                                          @Param("end") LocalDateTime end);
 
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END FROM Booking AS b " +
+            "WHERE b.item.id = :itemId AND b.booker.id = :bookerId AND b.status = :status AND b.end < :end")
     Boolean existsBookingByItemIdAndBookerIdAndStatusAndEndIsBefore(
-            Long itemId, Long bookerId, Status status, LocalDateTime end);
+            @Param("itemId") Long itemId, @Param("bookerId") Long bookerId, @Param("status") Status status,
+            @Param("end") LocalDateTime end);
 
 }
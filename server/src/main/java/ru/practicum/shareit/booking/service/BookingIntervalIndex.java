@@ -0,0 +1,300 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.NotAvailableException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingIntervalIndex {
+
+    private static final List<Status> OCCUPYING_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, ItemIntervals> intervalsByItemId = new ConcurrentHashMap<>();
+
+    public Booking reserve(Long itemId, LocalDateTime start, LocalDateTime end, Supplier<Booking> writer) {
+        Map<Long, ItemIntervals> locked = lock(List.of(itemId));
+        boolean handedOver = false;
+        try {
+            ItemIntervals intervals = locked.get(itemId);
+            if (intervals.overlaps(start, end)) {
+                throw overlap(itemId, start, end);
+            }
+            Booking booking = writer.get();
+            intervals.add(booking.getId(), start, end);
+            handedOver = unlockAfterCompletion(locked, List.of(booking));
+            return booking;
+        } finally {
+            if (!handedOver) {
+                unlock(locked);
+            }
+        }
+    }
+
+    public List<Booking> reserveAll(List<Booking> bookings, BiConsumer<Booking, NotAvailableException> onOverlap,
+                                    UnaryOperator<List<Booking>> writer) {
+        Map<Long, ItemIntervals> locked = lock(bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toCollection(TreeSet::new)));
+        boolean handedOver = false;
+        try {
+            List<Booking> accepted = new ArrayList<>();
+            for (Booking booking : bookings) {
+                Long itemId = booking.getItem().getId();
+                if (locked.get(itemId).overlaps(booking.getStart(), booking.getEnd())
+                        || overlapsAny(accepted, booking)) {
+                    onOverlap.accept(booking, overlap(itemId, booking.getStart(), booking.getEnd()));
+                } else {
+                    accepted.add(booking);
+                }
+            }
+            List<Booking> saved = writer.apply(accepted);
+            for (Booking booking : saved) {
+                locked.get(booking.getItem().getId()).add(booking.getId(), booking.getStart(), booking.getEnd());
+            }
+            handedOver = unlockAfterCompletion(locked, saved);
+            return saved;
+        } finally {
+            if (!handedOver) {
+                unlock(locked);
+            }
+        }
+    }
+
+    public void release(Booking booking) {
+        ItemIntervals intervals = intervalsByItemId.get(booking.getItem().getId());
+        if (intervals == null) {
+            return;
+        }
+        intervals.lock.lock();
+        try {
+            intervals.remove(booking.getId());
+        } finally {
+            intervals.lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateLoaded();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateLoaded();
+            }
+        });
+    }
+
+    private void invalidateLoaded() {
+        for (Map.Entry<Long, ItemIntervals> entry : intervalsByItemId.entrySet()) {
+            ItemIntervals intervals = entry.getValue();
+            intervals.lock.lock();
+            try {
+                intervals.valid = false;
+            } finally {
+                intervals.lock.unlock();
+            }
+            intervalsByItemId.remove(entry.getKey(), intervals);
+        }
+    }
+
+    private Map<Long, ItemIntervals> lock(Collection<Long> itemIds) {
+        Map<Long, ItemIntervals> locked = new LinkedHashMap<>();
+        try {
+            for (Long itemId : itemIds) {
+                locked.put(itemId, lockValid(itemId));
+            }
+        } catch (RuntimeException e) {
+            unlock(locked);
+            throw e;
+        }
+        return locked;
+    }
+
+    private ItemIntervals lockValid(Long itemId) {
+        while (true) {
+            ItemIntervals intervals = getIntervals(itemId);
+            intervals.lock.lock();
+            if (intervals.valid) {
+                return intervals;
+            }
+            intervals.lock.unlock();
+            intervalsByItemId.remove(itemId, intervals);
+        }
+    }
+
+    private static void unlock(Map<Long, ItemIntervals> locked) {
+        List<ItemIntervals> intervals = new ArrayList<>(locked.values());
+        for (int i = intervals.size() - 1; i >= 0; i--) {
+            intervals.get(i).lock.unlock();
+        }
+    }
+
+    private static boolean unlockAfterCompletion(Map<Long, ItemIntervals> locked, List<Booking> reserved) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status != STATUS_COMMITTED) {
+                        for (Booking booking : reserved) {
+                            locked.get(booking.getItem().getId()).remove(booking.getId());
+                        }
+                    }
+                } finally {
+                    unlock(locked);
+                }
+            }
+        });
+        return true;
+    }
+
+    private ItemIntervals getIntervals(Long itemId) {
+        ItemIntervals intervals = intervalsByItemId.get(itemId);
+        if (intervals != null) {
+            return intervals;
+        }
+        ItemIntervals loaded = loadIntervals(itemId);
+        ItemIntervals existing = intervalsByItemId.putIfAbsent(itemId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private static boolean overlapsAny(List<Booking> accepted, Booking booking) {
+        for (Booking other : accepted) {
+            if (other.getItem().getId().equals(booking.getItem().getId())
+                    && other.getStart().isBefore(booking.getEnd()) && other.getEnd().isAfter(booking.getStart())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static NotAvailableException overlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return new NotAvailableException("Вещь с id = " + itemId + " уже забронирована на период с "
+                + start + " по " + end);
+    }
+
+    private ItemIntervals loadIntervals(Long itemId) {
+        List<Booking> bookings = bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(
+                itemId, OCCUPYING_STATUSES, LocalDateTime.now());
+        ItemIntervals intervals = new ItemIntervals(bookings);
+        log.info("Загружено {} активных бронирований вещи с id = {} в индекс интервалов.", bookings.size(), itemId);
+        return intervals;
+    }
+
+    private static class ItemIntervals {
+        private static final Comparator<Interval> BY_START = Comparator.comparing(interval -> interval.start);
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<Interval> intervals = new ArrayList<>();
+        private LocalDateTime[] maxEnds;
+        private boolean valid = true;
+
+        ItemIntervals(List<Booking> bookings) {
+            for (Booking booking : bookings) {
+                intervals.add(new Interval(booking.getId(), booking.getStart(), booking.getEnd()));
+            }
+            intervals.sort(BY_START);
+            rebuildMaxEnds();
+        }
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            int last = lastStartingBefore(end);
+            return last >= 0 && maxEnds[last].isAfter(start);
+        }
+
+        void add(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            LocalDateTime now = LocalDateTime.now();
+            intervals.removeIf(interval -> !interval.end.isAfter(now));
+            intervals.add(firstStartingAfter(start), new Interval(bookingId, start, end));
+            rebuildMaxEnds();
+        }
+
+        void remove(Long bookingId) {
+            if (intervals.removeIf(interval -> interval.bookingId.equals(bookingId))) {
+                rebuildMaxEnds();
+            }
+        }
+
+        private int firstStartingAfter(LocalDateTime start) {
+            int low = 0;
+            int high = intervals.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (intervals.get(middle).start.isAfter(start)) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+        private int lastStartingBefore(LocalDateTime end) {
+            int low = 0;
+            int high = intervals.size() - 1;
+            int result = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (intervals.get(middle).start.isBefore(end)) {
+                    result = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return result;
+        }
+
+        private void rebuildMaxEnds() {
+            maxEnds = new LocalDateTime[intervals.size()];
+            LocalDateTime maxEnd = null;
+            for (int i = 0; i < intervals.size(); i++) {
+                LocalDateTime end = intervals.get(i).end;
+                if (maxEnd == null || end.isAfter(maxEnd)) {
+                    maxEnd = end;
+                }
+                maxEnds[i] = maxEnd;
+            }
+        }
+    }
+
+    private static class Interval {
+        private final Long bookingId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        Interval(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
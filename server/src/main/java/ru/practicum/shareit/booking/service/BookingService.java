@@ -1,20 +1,33 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingListDto;
 import ru.practicum.shareit.booking.model.BookingState;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
 
     BookingDtoResponse createBooking(Long userId, BookingDto bookingDto);
 
+    List<BookingBatchResultDto> createBookings(Long userId, BookingBatchDto batch);
+
     BookingDtoResponse approvedOrRejected(Boolean approved, Long ownerId, Long bookingId);
 
+    List<BookingBatchResultDto> approvedOrRejectedAll(Boolean approved, Long ownerId, List<Long> bookingIds);
+
     BookingDtoResponse getBooking(Long bookingId, Long userId);
 
-    Collection<BookingDtoResponse> getBookingsByBookerId(BookingState state, Long userId, Integer from, Integer size);
+    Collection<BookingListDto> getBookingsByBookerId(BookingState state, Long userId, Integer from, Integer size);
+
+    Collection<BookingListDto> getBookingsByOwnerId(BookingState state, Long userId, Integer from, Integer size);
+
+    BookingCursorPageDto getBookingsByBookerIdAfterCursor(BookingState state, Long userId, String cursor, Integer size);
 
-    Collection<BookingDtoResponse> getBookingsByOwnerId(BookingState state, Long userId, Integer from, Integer size);
+    BookingCursorPageDto getBookingsByOwnerIdAfterCursor(BookingState state, Long userId, String cursor, Integer size);
 }
@@ -1,14 +1,22 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookingBatchDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingListDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListView;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -17,12 +25,22 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.StateException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemDetailsCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -33,7 +51,11 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemDetailsCache itemDetailsCache;
+    private final MeterRegistry meterRegistry;
 
+    @Transactional
     @Override
     public BookingDtoResponse createBooking(Long bookerId, BookingDto bookingDto) {
         User booker = checkUserExistAndGet(bookerId);
@@ -43,26 +65,96 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Владелец вещи не может бронировать свои вещи.");
         }
         Booking booking = BookingMapper.toBooking(bookingDto, booker, item, Status.WAITING);
+        Booking savedBooking = bookingIntervalIndex.reserve(item.getId(), booking.getStart(), booking.getEnd(),
+                () -> bookingRepository.save(booking));
         log.info("Бронирование веши {} создано. Ожидает изменение статуса со стороны владельца.", item);
-        return BookingMapper.toBookingDtoResponseFromBooking(bookingRepository.save(booking));
+        return BookingMapper.toBookingDtoResponseFromBooking(savedBooking);
+    }
+
+    @Transactional
+    @Override
+    public List<BookingBatchResultDto> createBookings(Long bookerId, BookingBatchDto batch) {
+        User booker = checkUserExistAndGet(bookerId);
+        List<BookingDto> entries = batch.getBookings();
+        Map<Long, Item> items = itemRepository.findAllWithOwnerAndRequestByIdIn(entries.stream()
+                        .map(BookingDto::getItemId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        BookingBatchResultDto[] results = new BookingBatchResultDto[entries.size()];
+        Map<Booking, Integer> positions = new IdentityHashMap<>();
+        List<Booking> candidates = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            try {
+                Booking booking = toBatchBooking(entries.get(i), booker, items);
+                positions.put(booking, i);
+                candidates.add(booking);
+            } catch (NotFoundException | NotAvailableException e) {
+                results[i] = rejectBatchEntry(i, e, batch.isAllOrNothing());
+            }
+        }
+
+        List<Booking> savedBookings = bookingIntervalIndex.reserveAll(candidates,
+                (booking, e) -> {
+                    int index = positions.get(booking);
+                    results[index] = rejectBatchEntry(index, e, batch.isAllOrNothing());
+                },
+                bookingRepository::insertAll);
+        for (Booking booking : savedBookings) {
+            int index = positions.get(booking);
+            results[index] = new BookingBatchResultDto(index, BookingMapper.toBookingDtoResponseFromBooking(booking),
+                    null);
+        }
+        log.info("Пакет бронирований пользователя с id = {} обработан: создано {} из {}.", bookerId,
+                savedBookings.size(), entries.size());
+        return List.of(results);
     }
 
     @Override
     public BookingDtoResponse approvedOrRejected(Boolean approved, Long ownerId, Long bookingId) {
-        checkUserExistAndGet(ownerId);
-        Booking booking = checkBookingExistAndGet(bookingId);
-        if (!booking.getItem().getOwner().getId().equals(ownerId)) {
-            throw new NotFoundException("Пользователь не является владельцем вещи.");
+        Status status = approved ? Status.APPROVED : Status.REJECTED;
+        if (bookingRepository.updateStatusIfWaiting(bookingId, ownerId, status) == 0) {
+            throw approvalFailure(bookingId, ownerId, bookingRepository.findById(bookingId).orElse(null));
         }
-        if (!booking.getStatus().equals(Status.WAITING)) {
-            throw new NotAvailableException("Бронь с id = " + bookingId + " не находится в статусе ожидания");
+        Booking savedBooking = checkBookingExistAndGet(bookingId);
+        afterStatusChange(savedBooking);
+        return BookingMapper.toBookingDtoResponseFromBooking(savedBooking);
+    }
+
+    @Transactional
+    @Override
+    public List<BookingBatchResultDto> approvedOrRejectedAll(Boolean approved, Long ownerId, List<Long> bookingIds) {
+        Status status = approved ? Status.APPROVED : Status.REJECTED;
+        if (new HashSet<>(bookingIds).size() != bookingIds.size()) {
+            throw new NotAvailableException("Пакет содержит повторяющиеся id бронирований.");
         }
-        if (approved) {
-            booking.setStatus(Status.APPROVED);
-        } else {
-            booking.setStatus(Status.REJECTED);
+        Map<Long, Booking> bookings = bookingRepository.findAllByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        List<Booking> found = bookingIds.stream()
+                .map(bookings::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        int[] updated = bookingRepository.updateAllStatusIfWaiting(found, ownerId, status);
+
+        List<BookingBatchResultDto> results = new ArrayList<>(bookingIds.size());
+        int changed = 0;
+        int position = 0;
+        for (int i = 0; i < bookingIds.size(); i++) {
+            Booking booking = bookings.get(bookingIds.get(i));
+            if (booking != null && updated[position++] > 0) {
+                changed++;
+                booking.setStatus(status);
+                booking.setVersion(booking.getVersion() + 1);
+                afterStatusChange(booking);
+                results.add(new BookingBatchResultDto(i, BookingMapper.toBookingDtoResponseFromBooking(booking), null));
+            } else {
+                results.add(new BookingBatchResultDto(i, null,
+                        approvalFailure(bookingIds.get(i), ownerId, booking).getMessage()));
+            }
         }
-        return BookingMapper.toBookingDtoResponseFromBooking(bookingRepository.save(booking));
+        log.info("Пользователь с id = {} изменил статус {} бронирований из {}.", ownerId, changed,
+                bookingIds.size());
+        return results;
     }
 
     @Override
@@ -76,18 +168,18 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public Collection<BookingDtoResponse> getBookingsByBookerId(BookingState state, Long userId, Integer from, Integer size) {
+    public Collection<BookingListDto> getBookingsByBookerId(BookingState state, Long userId, Integer from, Integer size) {
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException("Пользователь " + userId + " не найден");
         } else {
             PageRequest pageRequest = PageRequest.of(from / size, size);
-            Page<Booking> bookings = getBookingPage(state.toString(), userId, false, pageRequest);
-            return BookingMapper.toBookingDtoList(bookings);
+            Slice<BookingListView> bookings = getBookingPage(state.toString(), userId, false, pageRequest);
+            return BookingMapper.toBookingListDtoList(bookings);
         }
     }
 
     @Override
-    public Collection<BookingDtoResponse> getBookingsByOwnerId(BookingState state, Long userId, Integer from, Integer size) {
+    public Collection<BookingListDto> getBookingsByOwnerId(BookingState state, Long userId, Integer from, Integer size) {
         if (!userRepository.existsById(userId)) {
             throw new NotFoundException("Пользователь " + userId + " не найден");
         }
@@ -95,13 +187,36 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("У пользователя " + userId + " нет вещей для бронирования");
         } else {
             PageRequest pageRequest = PageRequest.of(from / size, size);
-            Page<Booking> bookings = getBookingPage(state.toString(), userId, true, pageRequest);
-            return BookingMapper.toBookingDtoList(bookings);
+            Slice<BookingListView> bookings = getBookingPage(state.toString(), userId, true, pageRequest);
+            return BookingMapper.toBookingListDtoList(bookings);
         }
     }
 
+    @Override
+    public BookingCursorPageDto getBookingsByBookerIdAfterCursor(BookingState state, Long userId, String cursor,
+                                                                 Integer size) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь " + userId + " не найден");
+        }
+        Slice<BookingListView> bookings = getBookingsAfterCursor(state.toString(), userId, false, cursor, size);
+        return toCursorPage(bookings);
+    }
+
+    @Override
+    public BookingCursorPageDto getBookingsByOwnerIdAfterCursor(BookingState state, Long userId, String cursor,
+                                                                Integer size) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь " + userId + " не найден");
+        }
+        if (!itemRepository.existsItemByOwnerId(userId)) {
+            throw new NotFoundException("У пользователя " + userId + " нет вещей для бронирования");
+        }
+        Slice<BookingListView> bookings = getBookingsAfterCursor(state.toString(), userId, true, cursor, size);
+        return toCursorPage(bookings);
+    }
+
     private Item checkItemExistAndGet(Long itemId) {
-        Item item = itemRepository.findById(itemId).orElseThrow(
+        Item item = itemRepository.findWithOwnerAndRequestById(itemId).orElseThrow(
                 () -> new NotFoundException("Вещь с id = " + itemId + " не найдена."));
         if (!item.getAvailable()) {
             throw new NotAvailableException("Вещь недоступна.");
@@ -109,6 +224,49 @@ public class BookingServiceImpl implements BookingService {
         return item;
     }
 
+    private Booking toBatchBooking(BookingDto bookingDto, User booker, Map<Long, Item> items) {
+        if (!bookingDto.getStart().isBefore(bookingDto.getEnd())) {
+            throw new NotAvailableException("Начало бронирования не может быть равно или или быть позже окончанию бронирования");
+        }
+        Item item = items.get(bookingDto.getItemId());
+        if (item == null) {
+            throw new NotFoundException("Вещь с id = " + bookingDto.getItemId() + " не найдена.");
+        }
+        if (!item.getAvailable()) {
+            throw new NotAvailableException("Вещь недоступна.");
+        }
+        if (booker.getId().equals(item.getOwner().getId())) {
+            throw new NotFoundException("Владелец вещи не может бронировать свои вещи.");
+        }
+        return BookingMapper.toBooking(bookingDto, booker, item, Status.WAITING);
+    }
+
+    private BookingBatchResultDto rejectBatchEntry(int index, RuntimeException e, boolean allOrNothing) {
+        if (allOrNothing) {
+            throw new NotAvailableException("Пакет бронирований отклонён, запись " + index + ": " + e.getMessage());
+        }
+        return new BookingBatchResultDto(index, null, e.getMessage());
+    }
+
+    private void afterStatusChange(Booking booking) {
+        if (booking.getStatus() == Status.APPROVED) {
+            itemDetailsCache.invalidate(booking.getItem().getId());
+        } else {
+            bookingIntervalIndex.release(booking);
+        }
+    }
+
+    private RuntimeException approvalFailure(Long bookingId, Long ownerId, Booking booking) {
+        checkUserExistAndGet(ownerId);
+        if (booking == null) {
+            return new NotFoundException("Бронь с id = " + bookingId + " не найден.");
+        }
+        if (!booking.getItem().getOwner().getId().equals(ownerId)) {
+            return new NotFoundException("Пользователь не является владельцем вещи.");
+        }
+        return new NotAvailableException("Бронь с id = " + bookingId + " не находится в статусе ожидания");
+    }
+
     private User checkUserExistAndGet(Long userId) {
         return userRepository.findById(userId).orElseThrow(
                 () -> new NotFoundException("Пользователь с id = " + userId + " не найден."));
@@ -119,88 +277,106 @@ public class BookingServiceImpl implements BookingService {
                 () -> new NotFoundException("Бронь с id = " + bookingId + " не найден."));
     }
 
-    private Page<Booking> getBookingPage(String state, Long userId, Boolean isOwner, PageRequest pageRequest) {
-        List<Long> itemsId;
-        Page<Booking> bookings = null;
+    private Slice<BookingListView> getBookingPage(String state, Long userId, Boolean isOwner,
+                                                  PageRequest pageRequest) {
+        BookingState bookingState = BookingState.checkState(state.toUpperCase());
+        return recordBookingQuery(bookingState, isOwner, "offset",
+                () -> findBookingPage(bookingState, userId, isOwner, pageRequest));
+    }
 
-        switch (BookingState.checkState(state.toUpperCase())) {
+    private Slice<BookingListView> findBookingPage(BookingState state, Long userId, Boolean isOwner,
+                                                   PageRequest pageRequest) {
+        switch (state) {
             case ALL:
-                if (isOwner) {
-                    itemsId = itemRepository.findAllItemIdByOwnerId(userId);
-                    bookings = bookingRepository
-                            .findAllByItemIdInOrderByStartDesc(itemsId, pageRequest);
-                } else {
-                    bookings = bookingRepository
-                            .findAllByBookerIdOrderByStartDesc(userId, pageRequest);
-                }
-                break;
+                return isOwner
+                        ? bookingRepository.findOwnerAll(userId, pageRequest)
+                        : bookingRepository.findBookerAll(userId, pageRequest);
             case CURRENT:
-                if (isOwner) {
-                    itemsId = itemRepository.findAllItemIdByOwnerId(userId);
-                    bookings = bookingRepository
-                            .findAllByItemIdInAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-                                    itemsId, LocalDateTime.now(), LocalDateTime.now(), pageRequest)
-                    ;
-                } else {
-                    bookings = bookingRepository
-                            .findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-                                    userId, LocalDateTime.now(), LocalDateTime.now(), pageRequest)
-                    ;
-                }
-                break;
+                return isOwner
+                        ? bookingRepository.findOwnerCurrent(userId, LocalDateTime.now(), pageRequest)
+                        : bookingRepository.findBookerCurrent(userId, LocalDateTime.now(), pageRequest);
             case PAST:
-                if (isOwner) {
-                    itemsId = itemRepository.findAllItemIdByOwnerId(userId);
-                    bookings = bookingRepository
-                            .findAllByItemIdInAndEndIsBeforeOrderByStartDesc(itemsId, LocalDateTime.now(), pageRequest)
-                    ;
-                } else {
-                    bookings = bookingRepository
-                            .findAllByBookerIdAndEndIsBeforeOrderByStartDesc(userId, LocalDateTime.now(), pageRequest)
-                    ;
-                }
-                break;
+                return isOwner
+                        ? bookingRepository.findOwnerPast(userId, LocalDateTime.now(), pageRequest)
+                        : bookingRepository.findBookerPast(userId, LocalDateTime.now(), pageRequest);
             case FUTURE:
-                if (isOwner) {
-                    itemsId = itemRepository.findAllItemIdByOwnerId(userId);
-                    bookings = bookingRepository
-                            .findAllByItemIdInAndStartIsAfterOrderByStartDesc(itemsId, LocalDateTime.now(), pageRequest)
-                    ;
-                } else {
-                    bookings = bookingRepository
-                            .findAllByBookerIdAndStartIsAfterOrderByStartDesc(userId, LocalDateTime.now(), pageRequest)
-                    ;
-                }
-                break;
+                return isOwner
+                        ? bookingRepository.findOwnerFuture(userId, LocalDateTime.now(), pageRequest)
+                        : bookingRepository.findBookerFuture(userId, LocalDateTime.now(), pageRequest);
             case WAITING:
-                if (isOwner) {
-                    itemsId = itemRepository.findAllItemIdByOwnerId(userId);
-                    bookings = bookingRepository
-                            .findAllByItemIdInAndStatusIsOrderByStartDesc(itemsId, Status.WAITING, pageRequest)
-                    ;
-                } else {
-                    bookings = bookingRepository
-                            .findAllByBookerIdAndStatusIsOrderByStartDesc(userId, Status.WAITING, pageRequest)
-                    ;
-                }
-                break;
+                return isOwner
+                        ? bookingRepository.findOwnerByStatus(userId, Status.WAITING, pageRequest)
+                        : bookingRepository.findBookerByStatus(userId, Status.WAITING, pageRequest);
             case REJECTED:
-                if (isOwner) {
-                    itemsId = itemRepository.findAllItemIdByOwnerId(userId);
-                    bookings = bookingRepository
-                            .findAllByItemIdInAndStatusIsOrderByStartDesc(itemsId, Status.REJECTED, pageRequest)
-                    ;
-                } else {
-                    bookings = bookingRepository
-                            .findAllByBookerIdAndStatusIsOrderByStartDesc(userId, Status.REJECTED, pageRequest)
-                    ;
-                }
-                break;
+                return isOwner
+                        ? bookingRepository.findOwnerByStatus(userId, Status.REJECTED, pageRequest)
+                        : bookingRepository.findBookerByStatus(userId, Status.REJECTED, pageRequest);
             default:
                 throw new StateException("Unknown state: " + state);
         }
+    }
 
-        return bookings;
+    private Slice<BookingListView> getBookingsAfterCursor(String state, Long userId, Boolean isOwner, String cursor,
+                                                          Integer size) {
+        if (cursor.isBlank()) {
+            return getBookingPage(state, userId, isOwner, PageRequest.of(0, size));
+        }
+        BookingCursor position = BookingCursor.decode(cursor);
+        BookingState bookingState = BookingState.checkState(state.toUpperCase());
+        return recordBookingQuery(bookingState, isOwner, "cursor", () -> findBookingsBeforeCursor(bookingState,
+                userId, isOwner, position.getStart(), position.getId(), PageRequest.of(0, size)));
+    }
+
+    private Slice<BookingListView> findBookingsBeforeCursor(BookingState state, Long userId, Boolean isOwner,
+                                                            LocalDateTime start, Long id, PageRequest limit) {
+        switch (state) {
+            case ALL:
+                return isOwner
+                        ? bookingRepository.findOwnerAllBeforeCursor(userId, start, id, limit)
+                        : bookingRepository.findBookerAllBeforeCursor(userId, start, id, limit);
+            case CURRENT:
+                return isOwner
+                        ? bookingRepository.findOwnerCurrentBeforeCursor(userId, start, id, LocalDateTime.now(), limit)
+                        : bookingRepository.findBookerCurrentBeforeCursor(userId, start, id, LocalDateTime.now(), limit);
+            case PAST:
+                return isOwner
+                        ? bookingRepository.findOwnerPastBeforeCursor(userId, start, id, LocalDateTime.now(), limit)
+                        : bookingRepository.findBookerPastBeforeCursor(userId, start, id, LocalDateTime.now(), limit);
+            case FUTURE:
+                return isOwner
+                        ? bookingRepository.findOwnerFutureBeforeCursor(userId, start, id, LocalDateTime.now(), limit)
+                        : bookingRepository.findBookerFutureBeforeCursor(userId, start, id, LocalDateTime.now(), limit);
+            case WAITING:
+                return isOwner
+                        ? bookingRepository.findOwnerByStatusBeforeCursor(userId, start, id, Status.WAITING, limit)
+                        : bookingRepository.findBookerByStatusBeforeCursor(userId, start, id, Status.WAITING, limit);
+            case REJECTED:
+                return isOwner
+                        ? bookingRepository.findOwnerByStatusBeforeCursor(userId, start, id, Status.REJECTED, limit)
+                        : bookingRepository.findBookerByStatusBeforeCursor(userId, start, id, Status.REJECTED, limit);
+            default:
+                throw new StateException("Unknown state: " + state);
+        }
+    }
+
+    private Slice<BookingListView> recordBookingQuery(BookingState state, Boolean isOwner, String pagination,
+                                                      Supplier<Slice<BookingListView>> query) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return query.get();
+        } finally {
+            sample.stop(meterRegistry.timer("shareit.booking.queries", "state", state.name(),
+                    "side", isOwner ? "owner" : "booker", "pagination", pagination));
+        }
+    }
+
+    private BookingCursorPageDto toCursorPage(Slice<BookingListView> bookings) {
+        if (!bookings.hasNext()) {
+            return new BookingCursorPageDto(BookingMapper.toBookingListDtoList(bookings), null);
+        }
+        List<BookingListView> page = bookings.getContent();
+        String nextCursor = BookingCursor.of(page.get(page.size() - 1)).encode();
+        return new BookingCursorPageDto(BookingMapper.toBookingListDtoList(page), nextCursor);
     }
 
 }
@@ -2,11 +2,14 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.CommentDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.util.List;
@@ -19,6 +22,7 @@ public class ItemController {
 
     private final ItemService itemService;
     private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @PostMapping
     public ItemDtoResponse createItem(@RequestHeader(REQUEST_HEADER) Long id, @RequestBody ItemDto itemDto) {
@@ -34,8 +38,13 @@ public class ItemController {
     }
 
     @GetMapping("/{id}")
-    public ItemDtoResponse getItemById(@RequestHeader(REQUEST_HEADER) Long ownerId, @PathVariable Long id) {
+    public ItemDtoResponse getItemById(@RequestHeader(REQUEST_HEADER) Long ownerId, @PathVariable Long id,
+                                       WebRequest request) {
         log.info("SERVER: Получен запрос на получение вещи с id = {} .", id);
+        if (request.checkNotModified(itemService.getItemETag(ownerId, id))) {
+            log.info("SERVER: Вещь с id = {} не изменилась.", id);
+            return null;
+        }
         return itemService.getItemById(ownerId, id);
     }
 
@@ -55,6 +64,20 @@ public class ItemController {
         return itemService.getItemsByText(text, from, size);
     }
 
+    @GetMapping(path = "/search", params = "cursor")
+    public ResponseEntity<List<ItemDtoResponse>> getItemsByTextAfterCursor(
+            @RequestParam String text,
+            @RequestParam String cursor,
+            @RequestParam(required = false, defaultValue = "10") Integer size) {
+        log.info("SERVER: Получен запрос на получение страницы вещей по тексту после курсора.");
+        ItemSearchPageDto page = itemService.getItemsByTextAfterCursor(text, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDtoResponse addComment(@RequestHeader(REQUEST_HEADER) Long userId,
                                          @PathVariable Long itemId, @RequestBody CommentDto commentDto) {
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 
 @Setter
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @ToString
 public class CommentDtoResponse {
     private Long id;
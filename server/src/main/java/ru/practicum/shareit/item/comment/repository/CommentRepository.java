@@ -1,12 +1,31 @@
 package ru.practicum.shareit.item.comment.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.utils.ChangeStamp;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long itemId);
+    @Query("SELECT c FROM Comment AS c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.item.id = :itemId")
+    List<Comment> findAllByItemId(@Param("itemId") Long itemId);
+
+    @Query("SELECT c FROM Comment AS c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.item.id IN :itemIds")
+    List<Comment> findAllByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query("SELECT COUNT(c) AS count, MAX(c.id) AS maxId, SUM(c.id + a.version) AS checksum FROM Comment AS c " +
+            "JOIN c.author AS a WHERE c.item.id = :itemId")
+    ChangeStamp findChangeStampByItemId(@Param("itemId") Long itemId);
+
+    @Query("SELECT DISTINCT c.item.id FROM Comment AS c WHERE c.author.id = :authorId")
+    List<Long> findItemIdsByAuthorId(@Param("authorId") Long authorId);
 }
@@ -6,7 +6,7 @@ import ru.practicum.shareit.item.comment.dto.CommentDtoResponse;
 
 import java.util.Set;
 
-@Builder
+@Builder(toBuilder = true)
 @Getter
 @Setter
 @ToString
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.exception.NotAvailableException;
+import ru.practicum.shareit.item.model.ItemSearchHit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class ItemSearchCursor {
+    public static final ItemSearchCursor FIRST = new ItemSearchCursor(Long.MAX_VALUE, 0L);
+
+    private static final String SEPARATOR = "|";
+
+    private final Long score;
+    private final Long id;
+
+    public static ItemSearchCursor of(ItemSearchHit hit) {
+        return new ItemSearchCursor(hit.getScore(), hit.getItemId());
+    }
+
+    public static ItemSearchCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new ItemSearchCursor(Long.parseLong(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new NotAvailableException("Некорректный курсор: " + token);
+        }
+    }
+
+    public String encode() {
+        String value = score + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,29 +1,40 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.utils.ChangeStamp;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository {
 
-    List<Item> findItemByOwner_Id(Long ownerId, PageRequest pageRequest);
+    @Query("SELECT i FROM Item AS i WHERE i.owner.id = :ownerId ORDER BY i.id")
+    List<Item> findItemByOwner_Id(@Param("ownerId") Long ownerId, PageRequest pageRequest);
 
-    List<Item> findItemByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(String text1, String text2, PageRequest pageRequest);
+    @EntityGraph(Item.WITH_OWNER_AND_REQUEST)
+    Optional<Item> findWithOwnerAndRequestById(Long id);
 
-    @Query("SELECT i.id FROM Item AS i " +
-            "JOIN User AS u ON i.owner.id=u.id " +
-            "WHERE i.owner.id = :ownerId")
-    List<Long> findAllItemIdByOwnerId(@Param("ownerId") Long ownerId);
+    @EntityGraph(Item.WITH_OWNER_AND_REQUEST)
+    List<Item> findAllWithOwnerAndRequestByIdIn(Collection<Long> ids);
 
-    //List<Item> findAllByRequestId(List<Long> requestIds);
+    @Query("SELECT i FROM Item AS i WHERE i.request.id IN :requestIds")
+    List<Item> findAllByRequest_IdIn(@Param("requestIds") Collection<Long> requestIds);
 
-    List<Item> findByRequest_Id(Long requestId);
+    @Query("SELECT i FROM Item AS i WHERE i.request.id = :requestId")
+    List<Item> findByRequest_Id(@Param("requestId") Long requestId);
 
-    Boolean existsItemByOwnerId(Long ownerId);
+    @Query("SELECT COUNT(i) AS count, MAX(i.id) AS maxId, SUM(i.version) AS checksum FROM Item AS i " +
+            "WHERE i.request.id = :requestId")
+    ChangeStamp findChangeStampByRequestId(@Param("requestId") Long requestId);
+
+    @Query("SELECT CASE WHEN COUNT(i) > 0 THEN TRUE ELSE FALSE END FROM Item AS i WHERE i.owner.id = :ownerId")
+    Boolean existsItemByOwnerId(@Param("ownerId") Long ownerId);
 }
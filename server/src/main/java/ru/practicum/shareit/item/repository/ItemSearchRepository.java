@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.model.ItemSearchHit;
+
+import java.util.List;
+
+public interface ItemSearchRepository {
+
+    List<ItemSearchHit> searchAvailableItems(String text, Long afterScore, Long afterId, int offset, int limit);
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.repository;
+
+import org.hibernate.Session;
+import ru.practicum.shareit.item.model.ItemSearchHit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ItemSearchRepositoryImpl implements ItemSearchRepository {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private static final String FULL_TEXT_SEARCH = "SELECT hits.item_id, hits.score FROM (" +
+            "SELECT i.item_id, CAST(ts_rank(i.search_vector, to_tsquery('simple', :query)) * 1000000 AS BIGINT) " +
+            "AS score FROM items AS i " +
+            "WHERE i.available AND i.search_vector @@ to_tsquery('simple', :query)) AS hits ";
+
+    private static final String LIKE_SEARCH = "SELECT hits.item_id, hits.score FROM (" +
+            "SELECT i.item_id, CASE WHEN LOWER(i.item_name) LIKE :query ESCAPE '\\' THEN 2 ELSE 1 END " +
+            "AS score FROM items AS i " +
+            "WHERE i.available AND (LOWER(i.item_name) LIKE :query ESCAPE '\\' " +
+            "OR LOWER(i.description) LIKE :query ESCAPE '\\')) AS hits ";
+
+    private static final String SEARCH_AFTER = "WHERE hits.score < :afterScore " +
+            "OR (hits.score = :afterScore AND hits.item_id > :afterId) " +
+            "ORDER BY hits.score DESC, hits.item_id LIMIT :limit OFFSET :offset";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean fullTextSupported;
+
+    @Override
+    public List<ItemSearchHit> searchAvailableItems(String text, Long afterScore, Long afterId, int offset, int limit) {
+        String sql;
+        String query;
+        if (isFullTextSupported()) {
+            sql = FULL_TEXT_SEARCH;
+            query = toTsQuery(text);
+        } else {
+            sql = LIKE_SEARCH;
+            query = toLikePattern(text);
+        }
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query search = entityManager.createNativeQuery(sql + SEARCH_AFTER)
+                .setParameter("query", query)
+                .setParameter("afterScore", afterScore)
+                .setParameter("afterId", afterId)
+                .setParameter("limit", limit)
+                .setParameter("offset", offset);
+        List<?> rows = search.getResultList();
+        return rows.stream()
+                .map(row -> (Object[]) row)
+                .map(row -> new ItemSearchHit(((Number) row[0]).longValue(), ((Number) row[1]).longValue()))
+                .collect(Collectors.toList());
+    }
+
+    private boolean isFullTextSupported() {
+        if (fullTextSupported == null) {
+            String product = entityManager.unwrap(Session.class)
+                    .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+            fullTextSupported = POSTGRESQL.equals(product);
+        }
+        return fullTextSupported;
+    }
+
+    private static String toTsQuery(String text) {
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private static String toLikePattern(String text) {
+        String escaped = text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
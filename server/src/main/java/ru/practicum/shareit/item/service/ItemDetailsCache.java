@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingBookerDto;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+public class ItemDetailsCache {
+
+    static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+    private static final long MAXIMUM_SIZE = 10_000;
+
+    private final Cache<Key, ItemDtoResponse> responses;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public ItemDetailsCache() {
+        this(Ticker.systemTicker(), Clock.systemDefaultZone());
+    }
+
+    public ItemDetailsCache(Ticker ticker, Clock clock) {
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfter(new UntilNextBookingStarts(clock))
+                .ticker(ticker)
+                .build();
+    }
+
+    public ItemDtoResponse get(Long itemId, boolean ownerView, Supplier<ItemDtoResponse> loader) {
+        Key key = new Key(itemId, ownerView);
+        ItemDtoResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+        long generation = invalidations.get();
+        ItemDtoResponse loaded = loader.get();
+        if (invalidations.get() == generation) {
+            responses.put(key, loaded);
+        }
+        return copyOf(loaded);
+    }
+
+    public void invalidate(Long itemId) {
+        invalidations.incrementAndGet();
+        responses.invalidate(new Key(itemId, true));
+        responses.invalidate(new Key(itemId, false));
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        responses.invalidateAll();
+    }
+
+    private static ItemDtoResponse copyOf(ItemDtoResponse response) {
+        return response.toBuilder()
+                .lastBooking(copyOf(response.getLastBooking()))
+                .nextBooking(copyOf(response.getNextBooking()))
+                .comments(response.getComments() == null ? null : response.getComments().stream()
+                        .map(comment -> comment.toBuilder().build())
+                        .collect(Collectors.toSet()))
+                .build();
+    }
+
+    private static BookingBookerDto copyOf(BookingBookerDto booking) {
+        return booking == null ? null : booking.toBuilder().build();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final Long itemId;
+        private final boolean ownerView;
+    }
+
+    @RequiredArgsConstructor
+    private static class UntilNextBookingStarts implements Expiry<Key, ItemDtoResponse> {
+        private final Clock clock;
+
+        @Override
+        public long expireAfterCreate(Key key, ItemDtoResponse response, long currentTime) {
+            if (response.getNextBooking() == null) {
+                return TIME_TO_LIVE.toNanos();
+            }
+            Duration untilNextBooking = Duration.between(LocalDateTime.now(clock), response.getNextBooking().getStart());
+            if (untilNextBooking.isNegative()) {
+                return 0;
+            }
+            return Math.min(untilNextBooking.toNanos(), TIME_TO_LIVE.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, ItemDtoResponse response, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, response, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, ItemDtoResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
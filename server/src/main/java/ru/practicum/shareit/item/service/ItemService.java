@@ -5,6 +5,7 @@ import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.CommentDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 
 import java.util.List;
 
@@ -16,10 +17,14 @@ public interface ItemService {
 
     ItemDtoResponse getItemById(Long ownerId, Long itemId);
 
+    String getItemETag(Long userId, Long itemId);
+
     List<ItemDtoResponse> getItemsByUserId(Long userId, Integer from, Integer size);
 
     List<ItemDtoResponse> getItemsByText(String text, Integer from, Integer size);
 
+    ItemSearchPageDto getItemsByTextAfterCursor(String text, String cursor, Integer size);
+
     CommentDtoResponse addComment(CommentDto dto, Long itemId, Long userId);
 
 }
@@ -4,7 +4,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.dto.BookingBookerDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
@@ -18,15 +17,21 @@ import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.dto.ItemSearchCursor;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchHit;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utils.ChangeStamp;
+import ru.practicum.shareit.utils.ETags;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,6 +44,7 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemDetailsCache itemDetailsCache;
 
     @Override
     public ItemDtoResponse createItem(Long ownerId, ItemDto itemDto) {
@@ -70,23 +76,29 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             updateItem.setAvailable(itemDto.getAvailable());
         }
-        return ItemMapper.toItemDtoResponseFromItem(itemRepository.save(updateItem));
+        Item savedItem = itemRepository.save(updateItem);
+        itemDetailsCache.invalidate(itemId);
+        return ItemMapper.toItemDtoResponseFromItem(savedItem);
     }
 
     @Override
     public ItemDtoResponse getItemById(Long userId, Long itemId) {
+        boolean ownerView = checkItemExistAndGet(itemId).getOwner().getId().equals(userId);
+        return itemDetailsCache.get(itemId, ownerView,
+                () -> assembleItemDetails(checkItemExistAndGet(itemId), ownerView));
+    }
+
+    @Override
+    public String getItemETag(Long userId, Long itemId) {
         Item item = checkItemExistAndGet(itemId);
-        ItemDtoResponse itemDtoResponse = ItemMapper.toItemDtoResponseFromItem(item);
-        itemDtoResponse.setComments(new HashSet<>(getItemComments(itemId)));
-        if (item.getOwner().getId().equals(userId)) {
-            Booking lastBooking = bookingRepository
-                    .findFirstByItemIdAndStartBeforeAndStatusOrderByEndDesc(itemId, LocalDateTime.now(), Status.APPROVED);
-            Booking nextBooking = bookingRepository
-                    .findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(itemId, LocalDateTime.now(), Status.APPROVED);
-            itemDtoResponse.setLastBooking(BookingMapper.toBookingBookerDto(lastBooking));
-            itemDtoResponse.setNextBooking(BookingMapper.toBookingBookerDto(nextBooking));
+        ChangeStamp comments = commentRepository.findChangeStampByItemId(itemId);
+        if (!item.getOwner().getId().equals(userId)) {
+            return ETags.of(itemId, item.getVersion(), comments.getCount(), comments.getMaxId(),
+                    comments.getChecksum());
         }
-        return itemDtoResponse;
+        ChangeStamp bookings = bookingRepository.findChangeStampByItemId(itemId, LocalDateTime.now(), Status.APPROVED);
+        return ETags.of(itemId, item.getVersion(), comments.getCount(), comments.getMaxId(), comments.getChecksum(),
+                userId, bookings.getCount(), bookings.getMaxId(), bookings.getChecksum());
     }
 
     @Override
@@ -95,16 +107,31 @@ public class ItemServiceImpl implements ItemService {
         PageRequest pageRequest = PageRequest.of(from / size, size);
 
         List<Item> items = itemRepository.findItemByOwner_Id(id, pageRequest);
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = groupBookingsByItemId(
+                bookingRepository.findLastBookingsByItemIdIn(itemIds, now, Status.APPROVED));
+        Map<Long, Booking> nextBookings = groupBookingsByItemId(
+                bookingRepository.findNextBookingsByItemIdIn(itemIds, now, Status.APPROVED));
+        Map<Long, Set<CommentDtoResponse>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDtoResponseFromComment, Collectors.toSet())));
 
         List<ItemDtoResponse> itemDtoResponses = items.stream()
                 .map(item -> ItemDtoResponse.builder()
                         .id(item.getId())
                         .name(item.getName())
                         .description(item.getDescription())
-                        .lastBooking(getLastBookingForItem(item.getId()))
-                        .nextBooking(getNextBookingForItem(item.getId()))
+                        .lastBooking(BookingMapper.toBookingBookerDto(lastBookings.get(item.getId())))
+                        .nextBooking(BookingMapper.toBookingBookerDto(nextBookings.get(item.getId())))
                         .available(item.getAvailable())
-                        .comments(new HashSet<>(getItemComments(item.getId())))
+                        .comments(comments.getOrDefault(item.getId(), new HashSet<>()))
                         .build())
                 .sorted(Comparator.comparing(ItemDtoResponse::getId))
                 .collect(Collectors.toList());
@@ -116,13 +143,30 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public List<ItemDtoResponse> getItemsByText(String text, Integer from, Integer size) {
 
-        PageRequest pageRequest = PageRequest.of(from / size, size);
-
         if (text.isBlank()) {
             return Collections.emptyList();
         }
-        List<Item> items = itemRepository.findItemByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(text, text, pageRequest);
-        return ItemMapper.toItemDtoResponseListFromItemList(items);
+        ItemSearchCursor first = ItemSearchCursor.FIRST;
+        List<ItemSearchHit> hits = itemRepository.searchAvailableItems(text, first.getScore(), first.getId(),
+                from / size * size, size);
+        return ItemMapper.toItemDtoResponseListFromItemList(loadItemsInHitOrder(hits));
+    }
+
+    @Override
+    public ItemSearchPageDto getItemsByTextAfterCursor(String text, String cursor, Integer size) {
+        if (text.isBlank()) {
+            return new ItemSearchPageDto(Collections.emptyList(), null);
+        }
+        ItemSearchCursor after = cursor.isBlank() ? ItemSearchCursor.FIRST : ItemSearchCursor.decode(cursor);
+        List<ItemSearchHit> hits = itemRepository.searchAvailableItems(text, after.getScore(), after.getId(),
+                0, size + 1);
+        if (hits.size() <= size) {
+            return new ItemSearchPageDto(ItemMapper.toItemDtoResponseListFromItemList(loadItemsInHitOrder(hits)), null);
+        }
+        List<ItemSearchHit> page = hits.subList(0, size);
+        String nextCursor = ItemSearchCursor.of(page.get(page.size() - 1)).encode();
+        return new ItemSearchPageDto(ItemMapper.toItemDtoResponseListFromItemList(loadItemsInHitOrder(page)),
+                nextCursor);
     }
 
     @Override
@@ -137,8 +181,25 @@ public class ItemServiceImpl implements ItemService {
                     new NotFoundException("Вещь " + itemId + " не найдена"));
             Comment comment = CommentMapper.toComment(dto, author, item);
             comment.setCreated(LocalDateTime.now());
-            return CommentMapper.toCommentDtoResponseFromComment(commentRepository.save(comment));
+            Comment savedComment = commentRepository.save(comment);
+            itemDetailsCache.invalidate(itemId);
+            return CommentMapper.toCommentDtoResponseFromComment(savedComment);
+        }
+    }
+
+    private List<Item> loadItemsInHitOrder(List<ItemSearchHit> hits) {
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
         }
+        List<Long> itemIds = hits.stream()
+                .map(ItemSearchHit::getItemId)
+                .collect(Collectors.toList());
+        Map<Long, Item> itemsById = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     private User checkUserExistAndGet(Long userId) {
@@ -152,16 +213,26 @@ public class ItemServiceImpl implements ItemService {
     }
 
 
-    private BookingBookerDto getLastBookingForItem(Long itemId) {
-        return BookingMapper.toBookingBookerDto(
-                bookingRepository.findFirstByItemIdAndStartBeforeAndStatusOrderByEndDesc(
-                        itemId, LocalDateTime.now(), Status.APPROVED));
+    private ItemDtoResponse assembleItemDetails(Item item, boolean ownerView) {
+        Long itemId = item.getId();
+        ItemDtoResponse itemDtoResponse = ItemMapper.toItemDtoResponseFromItem(item);
+        itemDtoResponse.setComments(new HashSet<>(getItemComments(itemId)));
+        if (ownerView) {
+            LocalDateTime now = LocalDateTime.now();
+            Booking lastBooking = groupBookingsByItemId(
+                    bookingRepository.findLastBookingsByItemIdIn(List.of(itemId), now, Status.APPROVED)).get(itemId);
+            Booking nextBooking = groupBookingsByItemId(
+                    bookingRepository.findNextBookingsByItemIdIn(List.of(itemId), now, Status.APPROVED)).get(itemId);
+            itemDtoResponse.setLastBooking(BookingMapper.toBookingBookerDto(lastBooking));
+            itemDtoResponse.setNextBooking(BookingMapper.toBookingBookerDto(nextBooking));
+        }
+        return itemDtoResponse;
     }
 
-    private BookingBookerDto getNextBookingForItem(Long itemId) {
-        return BookingMapper.toBookingBookerDto(
-                bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(
-                        itemId, LocalDateTime.now(), Status.APPROVED));
+    private Map<Long, Booking> groupBookingsByItemId(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), Function.identity(),
+                        (first, second) -> first.getId() < second.getId() ? first : second));
     }
 
     private List<CommentDtoResponse> getItemComments(Long itemId) {
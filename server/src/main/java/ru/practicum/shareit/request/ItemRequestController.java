@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestSmallDto;
@@ -46,8 +47,12 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ItemRequestDto getRequestById(@RequestHeader(REQUEST_HEADER) Long userId,
-                                         @PathVariable Long requestId) {
+                                         @PathVariable Long requestId, WebRequest request) {
         log.info("SERVER: Получен запрос на получение данных об одном конкретном запросе");
+        if (request.checkNotModified(itemRequestService.getRequestETag(userId, requestId))) {
+            log.info("SERVER: Запрос с id = {} не изменился.", requestId);
+            return null;
+        }
         return itemRequestService.getRequestById(userId, requestId);
     }
 
@@ -2,7 +2,10 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
@@ -11,7 +14,17 @@ import java.util.List;
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(Long requesterId);
+    @Query("SELECT r FROM ItemRequest AS r " +
+            "JOIN FETCH r.requester " +
+            "WHERE r.requester.id = :requesterId " +
+            "ORDER BY r.created DESC")
+    List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(@Param("requesterId") Long requesterId);
 
+    @EntityGraph(attributePaths = "requester")
     Page<ItemRequest> findByIdIsNotOrderByCreatedAsc(Long userId, PageRequest pageRequest);
+
+    @Override
+    default boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
 }
@@ -14,4 +14,6 @@ public interface ItemRequestService {
     List<ItemRequestDto> getAllRequests(Long userId, Integer from, Integer size);
 
     ItemRequestDto getRequestById(Long userId, Long requestId);
+
+    String getRequestETag(Long userId, Long requestId);
 }
@@ -16,11 +16,15 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utils.ChangeStamp;
+import ru.practicum.shareit.utils.ETags;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -43,11 +47,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDto> getRequestsByOwner(Long ownerId) {
         checkUserExistAndGet(ownerId);
         List<ItemRequest> requests = itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(ownerId);
-        List<ItemRequestDto> itemRequestsList = new ArrayList<>();
-        for (ItemRequest request : requests) {
-            itemRequestsList.add(itemsToRequest(request));
-        }
-        return itemRequestsList;
+        return itemsToRequests(requests);
     }
 
     @Override
@@ -55,13 +55,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         //checkUserExistAndGet(userId);
         PageRequest pageRequest = PageRequest.of(from / size, size);
         Page<ItemRequest> itemRequests = itemRequestRepository.findByIdIsNotOrderByCreatedAsc(userId, pageRequest);
-
-        List<ItemRequestDto> result = new ArrayList<>();
-        for (ItemRequest itemRequest : itemRequests) {
-            result.add(itemsToRequest(itemRequest));
-        }
-        return result;
-
+        return itemsToRequests(itemRequests.getContent());
     }
 
     @Override
@@ -73,6 +67,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     }
 
+    @Override
+    public String getRequestETag(Long userId, Long requestId) {
+        checkUserExistAndGet(userId);
+        ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(
+                () -> new NotFoundException("Запроса не существует"));
+        ChangeStamp items = itemRepository.findChangeStampByRequestId(requestId);
+        return ETags.of(requestId, itemRequest.getVersion(), items.getCount(), items.getMaxId(), items.getChecksum());
+    }
+
     private User checkUserExistAndGet(Long userId) {
         return userRepository.findById(userId).orElseThrow(
                 () -> new NotFoundException("Пользователь с id " + userId + " не найден"));
@@ -93,5 +96,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return itemRequestDto;
     }
 
+    private List<ItemRequestDto> itemsToRequests(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, List<Item>> itemsByRequestId = itemRepository.findAllByRequest_IdIn(itemRequests.stream()
+                        .map(ItemRequest::getId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+
+        List<ItemRequestDto> result = new ArrayList<>(itemRequests.size());
+        for (ItemRequest itemRequest : itemRequests) {
+            List<Item> items = itemsByRequestId.getOrDefault(itemRequest.getId(), Collections.emptyList());
+            result.add(ItemRequestMapper.toItemRequestDto(itemRequest, ItemMapper.returnItemDtoList(items)));
+        }
+        return result;
+    }
+
 
 }
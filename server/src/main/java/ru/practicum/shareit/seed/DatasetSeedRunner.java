@@ -0,0 +1,31 @@
+package ru.practicum.shareit.seed;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+@Component
+@Profile("seed")
+@EnableConfigurationProperties(SeedProperties.class)
+@RequiredArgsConstructor
+public class DatasetSeedRunner implements ApplicationRunner {
+
+    private final DataSource dataSource;
+    private final SeedProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        new DatasetSeeder(dataSource).seed(properties);
+        if (properties.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package ru.practicum.shareit.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.booking.model.Status;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Random;
+
+@Slf4j
+public class DatasetSeeder {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final int HISTORY_MINUTES = 2 * 365 * 24 * 60;
+    private static final int FUTURE_MINUTES = 365 * 24 * 60;
+    private static final int MAX_BOOKING_MINUTES = 3 * 24 * 60;
+    private static final String[] WORDS = {"дрель", "перфоратор", "лестница", "палатка", "велосипед", "самокат",
+            "шуруповёрт", "пила", "рюкзак", "байдарка", "проектор", "колонка", "аккумуляторная", "складной",
+            "туристический", "новый", "мощный", "лёгкий", "для", "дачи", "ремонта", "похода", "на", "выходные",
+            "drill", "tent", "ladder", "bike", "camera", "tripod", "kayak", "saw", "speaker", "projector"};
+
+    private final DataSource dataSource;
+
+    public DatasetSeeder(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void seed(SeedProperties properties) {
+        long started = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                new Generation(connection, properties).run();
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Не удалось заполнить базу тестовыми данными", e);
+        }
+        log.info("База заполнена за {} с: {} пользователей, {} запросов, {} вещей, {} бронирований, {} отзывов.",
+                (System.nanoTime() - started) / 1_000_000_000, properties.getUsers(), properties.getRequests(),
+                properties.getItems(), properties.getBookings(), properties.getComments());
+    }
+
+    private static class Generation {
+        private final Connection connection;
+        private final SeedProperties properties;
+        private final boolean postgres;
+        private final Random random;
+        private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+
+        Generation(Connection connection, SeedProperties properties) throws SQLException {
+            this.connection = connection;
+            this.properties = properties;
+            this.postgres = POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName());
+            this.random = new Random(properties.getRandomSeed());
+        }
+
+        void run() throws SQLException {
+            checkEmpty();
+            seedUsers();
+            seedRequests();
+            int[] owners = seedItems();
+            seedBookings(owners);
+            seedComments();
+            restartIdentity("users", "user_id", properties.getUsers());
+            restartIdentity("requests", "request_id", properties.getRequests());
+            restartIdentity("items", "item_id", properties.getItems());
+            restartIdentity("bookings", "booking_id", properties.getBookings());
+            restartIdentity("comments", "comment_id", properties.getComments());
+            execute("ANALYZE");
+            connection.commit();
+        }
+
+        private void checkEmpty() throws SQLException {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM users")) {
+                resultSet.next();
+                if (resultSet.getLong(1) > 0) {
+                    throw new IllegalStateException("База уже содержит данные, заполнение возможно только в пустую "
+                            + "схему");
+                }
+            }
+        }
+
+        private void seedUsers() throws SQLException {
+            long started = System.nanoTime();
+            try (RowWriter writer = open("users", "user_id", "name", "email")) {
+                for (int id = 1; id <= properties.getUsers(); id++) {
+                    writer.write(id, text(1, 3), "user" + id + "@shareit.ru");
+                }
+            }
+            logTable("users", properties.getUsers(), started);
+        }
+
+        private void seedRequests() throws SQLException {
+            long started = System.nanoTime();
+            try (RowWriter writer = open("requests", "request_id", "description", "requester_id", "created")) {
+                for (int id = 1; id <= properties.getRequests(); id++) {
+                    writer.write(id, text(3, 14), user(), past());
+                }
+            }
+            logTable("requests", properties.getRequests(), started);
+        }
+
+        private int[] seedItems() throws SQLException {
+            long started = System.nanoTime();
+            int[] owners = new int[properties.getItems() + 1];
+            int[] userByRank = permutation(properties.getUsers());
+            ZipfSampler ownerSampler = new ZipfSampler(properties.getUsers(), properties.getOwnerSkew());
+            int answered = (int) Math.round(properties.getRequests() * properties.getAnsweredRequestShare());
+            double answerProbability = Math.min(1.0, 2.0 * answered / Math.max(1, properties.getItems()));
+            try (RowWriter writer = open("items", "item_id", "item_name", "description", "available", "owner_id",
+                    "request_id")) {
+                for (int id = 1; id <= properties.getItems(); id++) {
+                    owners[id] = userByRank[ownerSampler.sample(random)];
+                    Integer requestId = answered > 0 && random.nextDouble() < answerProbability
+                            ? 1 + random.nextInt(answered) : null;
+                    writer.write(id, text(1, 4), text(3, 12), random.nextInt(10) > 0, owners[id], requestId);
+                }
+            }
+            logTable("items", properties.getItems(), started);
+            return owners;
+        }
+
+        private void seedBookings(int[] owners) throws SQLException {
+            long started = System.nanoTime();
+            int[] counts = perItem(properties.getBookings(), properties.getItemPopularitySkew());
+            long id = 0;
+            try (RowWriter writer = open("bookings", "booking_id", "start_time", "end_time", "item_id", "booker_id",
+                    "booking_status")) {
+                for (int item = 1; item < counts.length; item++) {
+                    long[] starts = new long[counts[item]];
+                    for (int i = 0; i < starts.length; i++) {
+                        starts[i] = random.nextInt(HISTORY_MINUTES + FUTURE_MINUTES) - HISTORY_MINUTES;
+                    }
+                    Arrays.sort(starts);
+                    long occupiedUntil = Long.MIN_VALUE;
+                    for (long start : starts) {
+                        long end = start + 60 + random.nextInt(MAX_BOOKING_MINUTES);
+                        Status status = status(start, occupiedUntil);
+                        if (status == Status.APPROVED || status == Status.WAITING) {
+                            occupiedUntil = end;
+                        }
+                        int booker = user();
+                        if (booker == owners[item]) {
+                            booker = booker % properties.getUsers() + 1;
+                        }
+                        writer.write(++id, Timestamp.valueOf(now.plusMinutes(start)),
+                                Timestamp.valueOf(now.plusMinutes(end)), item, booker, status.name());
+                    }
+                }
+            }
+            logTable("bookings", properties.getBookings(), started);
+        }
+
+        private void seedComments() throws SQLException {
+            long started = System.nanoTime();
+            int[] counts = perItem(properties.getComments(), properties.getCommentThreadSkew());
+            long id = 0;
+            try (RowWriter writer = open("comments", "comment_id", "text", "item_id", "author_id", "created")) {
+                for (int item = 1; item < counts.length; item++) {
+                    for (int i = 0; i < counts[item]; i++) {
+                        writer.write(++id, text(3, 40), item, user(), past());
+                    }
+                }
+            }
+            logTable("comments", properties.getComments(), started);
+        }
+
+        private Status status(long start, long occupiedUntil) {
+            if (start < occupiedUntil) {
+                return random.nextInt(10) < 7 ? Status.REJECTED : Status.CANCELED;
+            }
+            if (start > 0) {
+                return random.nextInt(10) < 3 ? Status.WAITING : Status.APPROVED;
+            }
+            return random.nextInt(10) < 9 ? Status.APPROVED : Status.REJECTED;
+        }
+
+        private int[] perItem(int total, double skew) {
+            int[] counts = new int[properties.getItems() + 1];
+            if (properties.getItems() == 0) {
+                return counts;
+            }
+            int[] itemByRank = permutation(properties.getItems());
+            ZipfSampler sampler = new ZipfSampler(properties.getItems(), skew);
+            for (int i = 0; i < total; i++) {
+                counts[itemByRank[sampler.sample(random)]]++;
+            }
+            return counts;
+        }
+
+        private int[] permutation(int size) {
+            int[] ids = new int[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = i + 1;
+            }
+            for (int i = size - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = ids[i];
+                ids[i] = ids[j];
+                ids[j] = swap;
+            }
+            return ids;
+        }
+
+        private int user() {
+            return 1 + random.nextInt(properties.getUsers());
+        }
+
+        private Timestamp past() {
+            return Timestamp.valueOf(now.minusMinutes(random.nextInt(HISTORY_MINUTES)));
+        }
+
+        private String text(int minWords, int maxWords) {
+            int words = minWords + random.nextInt(maxWords - minWords + 1);
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < words; i++) {
+                if (i > 0) {
+                    text.append(' ');
+                }
+                text.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            return text.toString();
+        }
+
+        private RowWriter open(String table, String... columns) throws SQLException {
+            return postgres
+                    ? new CopyWriter(connection, table, columns)
+                    : new BatchInsertWriter(connection, table, columns, properties.getBatchSize());
+        }
+
+        private void restartIdentity(String table, String column, long count) throws SQLException {
+            execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + (count + 1));
+        }
+
+        private void execute(String sql) throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+        }
+
+        private void logTable(String table, long rows, long started) {
+            log.info("Таблица {} заполнена: {} строк за {} мс ({}).", table, rows,
+                    (System.nanoTime() - started) / 1_000_000, postgres ? "COPY" : "пакетный INSERT");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.seed;
+
+import java.sql.SQLException;
+
+interface RowWriter extends AutoCloseable {
+
+    void write(Object... values) throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+}
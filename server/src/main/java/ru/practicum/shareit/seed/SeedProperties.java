@@ -0,0 +1,23 @@
+package ru.practicum.shareit.seed;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.seed")
+public class SeedProperties {
+    private int users = 10_000;
+    private int requests = 10_000;
+    private int items = 100_000;
+    private int bookings = 1_000_000;
+    private int comments = 200_000;
+    private double answeredRequestShare = 0.3;
+    private double ownerSkew = 1.1;
+    private double itemPopularitySkew = 1.0;
+    private double commentThreadSkew = 1.2;
+    private int batchSize = 5_000;
+    private long randomSeed = 42;
+    private boolean exitWhenDone = false;
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -36,8 +37,12 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public UserDto getUser(@PathVariable Long id) {
+    public UserDto getUser(@PathVariable Long id, WebRequest request) {
         log.info("SERVER: Поступил запрос на получение пользователя");
+        if (request.checkNotModified(userService.getUserETag(id))) {
+            log.info("SERVER: Пользователь с id = {} не изменился.", id);
+            return null;
+        }
         return userService.getUserById(id);
     }
 
@@ -8,4 +8,9 @@ import ru.practicum.shareit.user.model.User;
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Boolean existsUserByEmail(String email);
+
+    @Override
+    default boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
 }
\ No newline at end of file
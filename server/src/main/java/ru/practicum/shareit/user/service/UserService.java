@@ -15,5 +15,7 @@ public interface UserService {
 
     UserDto getUserById(Long id);
 
+    String getUserETag(Long id);
+
     void deleteUserById(Long id);
 }
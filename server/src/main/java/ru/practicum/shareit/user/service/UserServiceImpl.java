@@ -3,12 +3,22 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemDetailsCache;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utils.ETags;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import javax.transaction.Transactional;
 import java.util.List;
 
@@ -19,6 +29,10 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemDetailsCache itemDetailsCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Transactional
     @Override
@@ -32,13 +46,18 @@ public class UserServiceImpl implements UserService {
     public UserDto editUser(Long id, UserDto userDto) {
         User updateUser = checkUserExistAndGet(id);
 
-        updateUser.setName(userDto.getName() != null ? userDto.getName() : updateUser.getName());
+        String oldName = updateUser.getName();
+        updateUser.setName(userDto.getName() != null ? userDto.getName() : oldName);
 
         String oldEmail = updateUser.getEmail();
         if (!oldEmail.equals(userDto.getEmail())) {
             updateUser.setEmail(userDto.getEmail() != null ? userDto.getEmail() : oldEmail);
         }
         userRepository.save(updateUser);
+        if (!oldName.equals(updateUser.getName())) {
+            List<Long> commentedItemIds = commentRepository.findItemIdsByAuthorId(id);
+            afterCommit(() -> commentedItemIds.forEach(itemDetailsCache::invalidate));
+        }
         log.info("Пользователь с id = {} успешно обновлён.", id);
         return UserMapper.toUserDto(updateUser);
     }
@@ -55,14 +74,44 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toUserDto(user);
     }
 
+    @Override
+    public String getUserETag(Long id) {
+        User user = checkUserExistAndGet(id);
+        return ETags.of(id, user.getVersion());
+    }
+
     @Transactional
     @Override
     public void deleteUserById(Long id) {
         User user = checkUserExistAndGet(id);
         userRepository.delete(user);
+        evictCascadedEntities();
         log.info("Пользователь с id = {} успешно удалён.", id);
     }
 
+    private void evictCascadedEntities() {
+        afterCommit(() -> {
+            Cache cache = entityManagerFactory.getCache();
+            cache.evict(Item.class);
+            cache.evict(ItemRequest.class);
+            itemDetailsCache.invalidateAll();
+        });
+        bookingIntervalIndex.invalidateAll();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private User checkUserExistAndGet(Long userId) {
         return userRepository.findById(userId).orElseThrow(
                 () -> new NotFoundException("Пользователь с id " + userId + " не найден"));
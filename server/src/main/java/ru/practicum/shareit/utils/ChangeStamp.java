@@ -0,0 +1,9 @@
+package ru.practicum.shareit.utils;
+
+public interface ChangeStamp {
+    Long getCount();
+
+    Long getMaxId();
+
+    Long getChecksum();
+}
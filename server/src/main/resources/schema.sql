@@ -8,6 +8,7 @@ CREATE TABLE IF NOT EXISTS users (
   user_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   name VARCHAR(255) NOT NULL,
   email VARCHAR(512) NOT NULL,
+  version BIGINT DEFAULT 0 NOT NULL,
   CONSTRAINT pk_user PRIMARY KEY (user_id),
   CONSTRAINT uq_user_email UNIQUE (email)
 );
@@ -17,6 +18,7 @@ CREATE TABLE IF NOT EXISTS requests (
     description CHARACTER VARYING(255) not null,
     requester_id BIGINT not null,
     created TIMESTAMP WITHOUT TIME ZONE DEFAULT NOW() not null,
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT  pk_requests PRIMARY KEY (request_id),
     CONSTRAINT requests_users_user_id_fk FOREIGN KEY (requester_id) REFERENCES users ON DELETE CASCADE
 );
@@ -28,6 +30,7 @@ CREATE TABLE IF NOT EXISTS items (
     available BOOLEAN NOT NULL,
     owner_id BIGINT NOT NULL,
     request_id BIGINT,
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_item PRIMARY KEY (item_id),
     CONSTRAINT fk_items_users_user_id FOREIGN KEY (owner_id) REFERENCES users ON DELETE CASCADE,
     CONSTRAINT fk_item_request_id FOREIGN KEY (request_id) REFERENCES requests (request_id)
@@ -40,6 +43,7 @@ CREATE TABLE IF NOT EXISTS bookings (
     item_id BIGINT not null,
     booker_id BIGINT not null,
     booking_status CHARACTER VARYING(8),
+    version BIGINT DEFAULT 0 NOT NULL,
     constraint pk_booking primary key (booking_id),
     constraint bookings_ITEMS_ITEM_ID_fk foreign key (item_id) references items ON DELETE CASCADE ,
     constraint bookings_USERS_USER_ID_fk foreign key (booker_id) references users ON DELETE CASCADE ,
@@ -52,7 +56,20 @@ CREATE TABLE IF NOT EXISTS comments (
     item_id BIGINT not null,
     author_id BIGINT not null,
     created TIMESTAMP WITHOUT TIME ZONE DEFAULT NOW() not null,
-    constraint pk_comment primary key (item_id),
+    constraint pk_comment primary key (comment_id),
     constraint comments_ITEMS_ITEM_ID_fk foreign key (item_id) references items ON DELETE CASCADE ,
     constraint comments_USERS_USER_ID_fk foreign key (author_id) references users ON DELETE CASCADE
 );
+
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created DESC);
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, item_id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_time DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, booking_status, start_time DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_time DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, booking_status, start_time);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
@@ -0,0 +1,234 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.seed.DatasetSeeder;
+import ru.practicum.shareit.seed.SeedProperties;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.SchemaIndexTest$CapturingInspector")
+public class PostgresSchemaIndexTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14.7-alpine");
+
+    private static final Pattern INDEX_IN_PLAN =
+            Pattern.compile("Index (?:Only )?Scan (?:Backward )?(?:using|on) (\\w+)");
+    private static final Pattern START_BOUND_IN_INDEX_COND =
+            Pattern.compile("Index Cond: .*start_time <= \\$\\d+");
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+    private static boolean seeded;
+
+    private final TestEntityManager entityManager;
+    private final DataSource dataSource;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final PageRequest page = PageRequest.of(0, 10);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeEach
+    void seedOnce() {
+        if (seeded) {
+            return;
+        }
+        SeedProperties properties = new SeedProperties();
+        properties.setUsers(200);
+        properties.setRequests(5000);
+        properties.setItems(1000);
+        properties.setBookings(10000);
+        properties.setComments(2000);
+        new DatasetSeeder(dataSource).seed(properties);
+        seeded = true;
+    }
+
+    @Test
+    void whenFindBookingsByBookerThenBookerIndexesAreUsed() {
+        assertThat(indexesUsedBy(() -> bookingRepository.findBookerAll(1L, page)))
+                .containsExactly("idx_bookings_booker_start");
+        assertThat(indexesUsedBy(() -> bookingRepository.findBookerCurrent(1L, now, page)))
+                .containsExactly("idx_bookings_booker_start");
+        assertThat(indexesUsedBy(() -> bookingRepository.findBookerPast(1L, now, page)))
+                .containsExactly("idx_bookings_booker_start");
+        assertThat(indexesUsedBy(() -> bookingRepository.findBookerFuture(1L, now, page)))
+                .containsExactly("idx_bookings_booker_start");
+        assertThat(indexesUsedBy(() -> bookingRepository.findBookerByStatus(1L, Status.WAITING, page)))
+                .containsExactly("idx_bookings_booker_status_start");
+        assertThat(indexesUsedBy(() -> bookingRepository.findBookerAllBeforeCursor(1L, now, 5L, page)))
+                .containsExactly("idx_bookings_booker_start");
+        assertThat(indexesUsedBy(() -> bookingRepository.findBookerByStatusBeforeCursor(1L, now, 5L,
+                Status.WAITING, page)))
+                .containsExactly("idx_bookings_booker_status_start");
+    }
+
+    @Test
+    void whenFindBookingsByOwnerThenOwnerAndItemIndexesAreUsed() {
+        List<Runnable> queries = List.of(
+                () -> bookingRepository.findOwnerAll(1L, page),
+                () -> bookingRepository.findOwnerCurrent(1L, now, page),
+                () -> bookingRepository.findOwnerByStatus(1L, Status.WAITING, page),
+                () -> bookingRepository.findOwnerAllBeforeCursor(1L, now, 5L, page),
+                () -> bookingRepository.findOwnerPastBeforeCursor(1L, now, 5L, now, page));
+
+        for (Runnable query : queries) {
+            Set<String> indexes = indexesUsedBy(query);
+            assertThat(indexes).hasSize(2).contains("idx_items_owner");
+            assertThat(indexes).containsAnyOf("idx_bookings_item_start", "idx_bookings_item_status_start");
+        }
+    }
+
+    @Test
+    void whenFindBookingsBeforeCursorThenStartBoundIsIndexCondition() {
+        List<Runnable> queries = List.of(
+                () -> bookingRepository.findBookerAllBeforeCursor(1L, now, 5L, page),
+                () -> bookingRepository.findBookerByStatusBeforeCursor(1L, now, 5L, Status.WAITING, page),
+                () -> bookingRepository.findOwnerAllBeforeCursor(1L, now, 5L, page),
+                () -> bookingRepository.findOwnerPastBeforeCursor(1L, now, 5L, now, page));
+
+        for (Runnable query : queries) {
+            assertThat(planOf(query)).containsPattern(START_BOUND_IN_INDEX_COND);
+        }
+    }
+
+    @Test
+    void whenFindBookingsOfItemThenItemIndexesAreUsed() {
+        List<Long> itemIds = List.of(1L, 2L);
+
+        assertThat(indexesUsedBy(() -> bookingRepository.findLastBookingsByItemIdIn(itemIds, now, Status.APPROVED)))
+                .containsExactly("idx_bookings_item_status_start");
+        assertThat(indexesUsedBy(() -> bookingRepository.findNextBookingsByItemIdIn(itemIds, now, Status.APPROVED)))
+                .containsExactly("idx_bookings_item_status_start");
+        assertThat(indexesUsedBy(() -> bookingRepository.findChangeStampByItemId(1L, now, Status.APPROVED)))
+                .containsExactly("idx_bookings_item_status_start");
+        assertThat(indexesUsedBy(() -> bookingRepository.existsBookingByItemIdAndBookerIdAndStatusAndEndIsBefore(
+                1L, 1L, Status.APPROVED, now)))
+                .containsExactly("idx_bookings_item_status_start");
+        assertThat(indexesUsedBy(() -> bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(1L,
+                List.of(Status.WAITING, Status.APPROVED), now)))
+                .containsExactly("idx_bookings_item_status_start");
+    }
+
+    @Test
+    void whenFindItemsThenOwnerAndRequestIndexesAreUsed() {
+        assertThat(indexesUsedBy(() -> itemRepository.findItemByOwner_Id(1L, page)))
+                .containsExactly("idx_items_owner");
+        assertThat(indexesUsedBy(() -> itemRepository.existsItemByOwnerId(1L)))
+                .containsExactly("idx_items_owner");
+        assertThat(indexesUsedBy(() -> itemRepository.findAllByRequest_IdIn(List.of(1L, 2L))))
+                .containsExactly("idx_items_request");
+        assertThat(indexesUsedBy(() -> itemRepository.findByRequest_Id(1L)))
+                .containsExactly("idx_items_request");
+        assertThat(indexesUsedBy(() -> itemRepository.findChangeStampByRequestId(1L)))
+                .containsExactly("idx_items_request");
+    }
+
+    @Test
+    void whenFindCommentsThenItemIndexIsUsed() {
+        assertThat(indexesUsedBy(() -> commentRepository.findAllByItemIdIn(List.of(1L, 2L))))
+                .containsExactly("idx_comments_item");
+        assertThat(indexesUsedBy(() -> commentRepository.findAllByItemId(1L)))
+                .containsExactly("idx_comments_item");
+        assertThat(indexesUsedBy(() -> commentRepository.findChangeStampByItemId(1L)))
+                .containsExactly("idx_comments_item");
+    }
+
+    @Test
+    void whenFindRequestsThenRequesterAndCreatedIndexesAreUsed() {
+        assertThat(indexesUsedBy(() -> itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(1L)))
+                .containsExactly("idx_requests_requester_created");
+        assertThat(indexesUsedBy(() -> itemRequestRepository.findByIdIsNotOrderByCreatedAsc(1L, page)))
+                .containsExactly("idx_requests_created");
+    }
+
+    private Set<String> indexesUsedBy(Runnable query) {
+        String plan = planOf(query);
+        assertThat(plan).doesNotContain("Seq Scan on bookings", "Seq Scan on items", "Seq Scan on comments",
+                "Seq Scan on requests");
+        Set<String> indexes = new TreeSet<>();
+        Matcher matcher = INDEX_IN_PLAN.matcher(plan);
+        while (matcher.find()) {
+            if (!matcher.group(1).startsWith("pk_")) {
+                indexes.add(matcher.group(1));
+            }
+        }
+        return indexes;
+    }
+
+    private String planOf(Runnable query) {
+        SchemaIndexTest.STATEMENTS.clear();
+        query.run();
+        assertThat(SchemaIndexTest.STATEMENTS).isNotEmpty();
+        String sql = SchemaIndexTest.STATEMENTS.get(0);
+        return explainGeneric(sql);
+    }
+
+    private String explainGeneric(String sql) {
+        StringBuilder prepared = new StringBuilder();
+        Matcher matcher = PARAMETER.matcher(sql);
+        int parameters = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(prepared, "\\$" + ++parameters);
+        }
+        matcher.appendTail(prepared);
+        String execute = parameters == 0 ? "EXPLAIN EXECUTE index_check"
+                : "EXPLAIN EXECUTE index_check(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE index_check AS " + prepared);
+                try (ResultSet rows = statement.executeQuery(execute)) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                } finally {
+                    statement.execute("DEALLOCATE index_check");
+                }
+            }
+        });
+    }
+}
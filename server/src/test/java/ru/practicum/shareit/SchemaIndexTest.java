@@ -0,0 +1,204 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.seed.DatasetSeeder;
+import ru.practicum.shareit.seed.SeedProperties;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.SchemaIndexTest$CapturingInspector")
+public class SchemaIndexTest {
+
+    private static final Pattern INDEX_IN_PLAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)(?::| \\*/)");
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static boolean seeded;
+
+    private final TestEntityManager entityManager;
+    private final DataSource dataSource;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final PageRequest page = PageRequest.of(0, 10);
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void seedOnce() {
+        if (seeded) {
+            return;
+        }
+        SeedProperties properties = new SeedProperties();
+        properties.setUsers(200);
+        properties.setRequests(200);
+        properties.setItems(1000);
+        properties.setBookings(10000);
+        properties.setComments(2000);
+        new DatasetSeeder(dataSource).seed(properties);
+        seeded = true;
+    }
+
+    @Test
+    void whenSchemaCreatedThenQueryIndexesExist() {
+        List<?> rows = entityManager.getEntityManager()
+                .createNativeQuery("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES")
+                .getResultList();
+        List<String> names = rows.stream().map(String::valueOf).collect(Collectors.toList());
+
+        assertThat(names).contains(
+                "idx_requests_requester_created",
+                "idx_requests_created",
+                "idx_items_owner",
+                "idx_items_request",
+                "idx_bookings_booker_start",
+                "idx_bookings_booker_status_start",
+                "idx_bookings_item_start",
+                "idx_bookings_item_status_start",
+                "idx_comments_item");
+    }
+
+    @Test
+    void whenFindBookingsByBookerThenBookerIndexesAreUsed() {
+        assertThat(indexesUsedBy(() -> bookingRepository.findBookerCurrent(1L, now, page)))
+                .containsExactly("IDX_BOOKINGS_BOOKER_START");
+        assertThat(indexesUsedBy(() -> bookingRepository.findBookerFuture(1L, now, page)))
+                .containsExactly("IDX_BOOKINGS_BOOKER_START");
+        assertThat(indexesUsedBy(() -> bookingRepository.findBookerByStatus(1L, Status.WAITING, page)))
+                .containsExactly("IDX_BOOKINGS_BOOKER_STATUS_START");
+        assertThat(indexesUsedBy(() -> bookingRepository.findBookerByStatusBeforeCursor(1L, now, 5L,
+                Status.WAITING, page)))
+                .containsExactly("IDX_BOOKINGS_BOOKER_STATUS_START");
+    }
+
+    @Test
+    void whenFindBookingsOfItemThenItemIndexesAreUsed() {
+        List<Long> itemIds = List.of(1L, 2L);
+
+        assertThat(indexesUsedBy(() -> bookingRepository.findLastBookingsByItemIdIn(itemIds, now, Status.APPROVED)))
+                .containsExactly("IDX_BOOKINGS_ITEM_STATUS_START");
+        assertThat(indexesUsedBy(() -> bookingRepository.findNextBookingsByItemIdIn(itemIds, now, Status.APPROVED)))
+                .containsExactly("IDX_BOOKINGS_ITEM_STATUS_START");
+        assertThat(indexesUsedBy(() -> bookingRepository.findChangeStampByItemId(1L, now, Status.APPROVED)))
+                .containsExactly("IDX_BOOKINGS_ITEM_STATUS_START");
+        assertThat(indexesUsedBy(() -> bookingRepository.findOwnerCurrent(1L, now, page)))
+                .contains("IDX_BOOKINGS_ITEM_START");
+    }
+
+    @Test
+    void whenFindRequestsPageThenCreatedIndexIsUsed() {
+        assertThat(indexesUsedBy(() -> itemRequestRepository.findByIdIsNotOrderByCreatedAsc(1L, page)))
+                .containsExactly("IDX_REQUESTS_CREATED");
+    }
+
+    @Test
+    void whenQueriesServedByForeignKeyIndexesThenNoTableIsScanned() {
+        List<Runnable> queries = List.of(
+                () -> bookingRepository.findBookerAll(1L, page),
+                () -> bookingRepository.findBookerPast(1L, now, page),
+                () -> bookingRepository.findBookerAllBeforeCursor(1L, now, 5L, page),
+                () -> bookingRepository.findOwnerAll(1L, page),
+                () -> bookingRepository.findOwnerByStatus(1L, Status.WAITING, page),
+                () -> bookingRepository.findOwnerAllBeforeCursor(1L, now, 5L, page),
+                () -> bookingRepository.findOwnerPastBeforeCursor(1L, now, 5L, now, page),
+                () -> bookingRepository.existsBookingByItemIdAndBookerIdAndStatusAndEndIsBefore(1L, 1L,
+                        Status.APPROVED, now),
+                () -> bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(1L,
+                        List.of(Status.WAITING, Status.APPROVED), now),
+                () -> itemRepository.findItemByOwner_Id(1L, page),
+                () -> itemRepository.existsItemByOwnerId(1L),
+                () -> itemRepository.findAllByRequest_IdIn(List.of(1L, 2L)),
+                () -> itemRepository.findByRequest_Id(1L),
+                () -> itemRepository.findChangeStampByRequestId(1L),
+                () -> commentRepository.findAllByItemIdIn(List.of(1L, 2L)),
+                () -> commentRepository.findAllByItemId(1L),
+                () -> commentRepository.findChangeStampByItemId(1L),
+                () -> itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(1L));
+
+        for (Runnable query : queries) {
+            assertThat(indexesUsedBy(query)).isNotEmpty();
+        }
+    }
+
+    @Test
+    void whenFindBookingsBeforeCursorThenStartBoundIsIndexCondition() {
+        assertThat(planOf(() -> bookingRepository.findBookerAllBeforeCursor(1L, now, 5L, page)))
+                .containsPattern("IDX_BOOKINGS_BOOKER_START: [^*]*START_TIME <= \\?");
+        assertThat(planOf(() -> bookingRepository.findBookerByStatusBeforeCursor(1L, now, 5L, Status.WAITING, page)))
+                .containsPattern("IDX_BOOKINGS_BOOKER_STATUS_START: [^*]*START_TIME <= \\?");
+    }
+
+    private String planOf(Runnable query) {
+        STATEMENTS.clear();
+        query.run();
+        assertThat(STATEMENTS).isNotEmpty();
+        return explain(STATEMENTS.get(0));
+    }
+
+    private Set<String> indexesUsedBy(Runnable query) {
+        STATEMENTS.clear();
+        query.run();
+        assertThat(STATEMENTS).isNotEmpty();
+        List<String> plans = new ArrayList<>();
+        for (String sql : STATEMENTS) {
+            String plan = explain(sql);
+            assertThat(plan).as(sql).doesNotContain("tableScan");
+            plans.add(plan);
+        }
+        Set<String> indexes = new TreeSet<>();
+        Matcher matcher = INDEX_IN_PLAN.matcher(plans.get(0));
+        while (matcher.find()) {
+            if (!matcher.group(1).startsWith("PRIMARY_KEY")) {
+                indexes.add(matcher.group(1));
+            }
+        }
+        return indexes;
+    }
+
+    private String explain(String sql) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        });
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ServiceConcurrencyLimiterTest {
+
+    private final ServiceConcurrencyLimiter limiter = new ServiceConcurrencyLimiter(1);
+
+    @Test
+    void whenPermitsAreTakenThenNextCallWaitsForRelease() throws Throwable {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ProceedingJoinPoint blocking = mock(ProceedingJoinPoint.class);
+        when(blocking.proceed()).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            entered.countDown();
+            release.await();
+            return "first";
+        });
+        ProceedingJoinPoint quick = mock(ProceedingJoinPoint.class);
+        when(quick.proceed()).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            return "second";
+        });
+
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> limit(blocking));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> limit(quick));
+
+        Thread.sleep(100);
+        assertThat(second).isNotDone();
+        assertThat(calls).hasValue(1);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(limiter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void whenServiceCallsAnotherServiceThenPermitIsReused() throws Throwable {
+        ProceedingJoinPoint inner = mock(ProceedingJoinPoint.class);
+        when(inner.proceed()).thenReturn("inner");
+        ProceedingJoinPoint outer = mock(ProceedingJoinPoint.class);
+        when(outer.proceed()).thenAnswer(invocation -> limiter.limit(inner));
+
+        assertThat(limiter.limit(outer)).isEqualTo("inner");
+        assertThat(limiter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void whenServiceCallFailsThenPermitIsReleased() throws Throwable {
+        ProceedingJoinPoint failing = mock(ProceedingJoinPoint.class);
+        when(failing.proceed()).thenThrow(new IllegalArgumentException("failure"));
+
+        CompletableFuture<Object> call = CompletableFuture.supplyAsync(() -> limit(failing));
+
+        assertThat(call).failsWithin(5, TimeUnit.SECONDS);
+        assertThat(limiter.availablePermits()).isEqualTo(1);
+    }
+
+    private Object limit(ProceedingJoinPoint joinPoint) {
+        try {
+            return limiter.limit(joinPoint);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class,
+                    DataSourceAutoConfiguration.class))
+            .withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    void whenVirtualThreadsDisabledThenTomcatExecutorIsUntouched() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(TomcatProtocolHandlerCustomizer.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenVirtualThreadsEnabledThenTomcatRunsRequestsOnVirtualThreads() {
+        contextRunner.withPropertyValues("shareit.threads.virtual.enabled=true").run(context -> {
+            ExecutorService executor = context.getBean("virtualThreadExecutor", ExecutorService.class);
+            Http11NioProtocol protocol = new Http11NioProtocol();
+
+            context.getBean(TomcatProtocolHandlerCustomizer.class).customize(protocol);
+
+            assertThat(protocol.getExecutor()).isSameAs(executor);
+            assertThat(executor.submit(() -> Thread.currentThread().isVirtual()).get()).isTrue();
+            assertThat(context.getBean(ServiceConcurrencyLimiter.class).availablePermits())
+                    .isEqualTo(context.getBean(HikariDataSource.class).getMaximumPoolSize());
+        });
+    }
+
+    @Test
+    void whenLimiterCreatedThenPermitsMatchConnectionPool() {
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setMaximumPoolSize(7);
+
+            ServiceConcurrencyLimiter limiter = new VirtualThreadConfig().serviceConcurrencyLimiter(dataSource);
+
+            assertThat(limiter.availablePermits()).isEqualTo(7);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "shareit.threads.virtual.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:virtual-threads",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000"})
+public class VirtualThreadRequestsTest {
+
+    private static final int CLIENTS = 16;
+    private static final int REQUESTS_PER_CLIENT = 10;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void whenMoreConcurrentTwoCallRequestsThanConnectionsThenAllSucceed() throws Exception {
+        User owner = userRepository.save(new User(0L, "owner", "owner@email.com", 0L));
+        Item item = itemRepository.save(new Item(0L, "item", "item description", true, owner, null, null, null,
+                0L));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(owner.getId()));
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<CompletableFuture<List<HttpStatus>>> responses = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                responses.add(CompletableFuture.supplyAsync(() -> {
+                    List<HttpStatus> statuses = new ArrayList<>();
+                    for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                        statuses.add(restTemplate.exchange("/items/" + item.getId(), HttpMethod.GET, request,
+                                String.class).getStatusCode());
+                        statuses.add(restTemplate.exchange("/users/" + owner.getId(), HttpMethod.GET, request,
+                                String.class).getStatusCode());
+                    }
+                    return statuses;
+                }, clients));
+            }
+
+            for (CompletableFuture<List<HttpStatus>> response : responses) {
+                assertThat(response.get(30, TimeUnit.SECONDS)).containsOnly(HttpStatus.OK);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+}
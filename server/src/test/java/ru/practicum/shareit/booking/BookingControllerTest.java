@@ -8,8 +8,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingBatchDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingListDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -48,6 +52,10 @@ public class BookingControllerTest {
 
     private BookingDtoResponse bookindDtoResponse2Dto;
 
+    private BookingListDto bookingList1Dto;
+
+    private BookingListDto bookingList2Dto;
+
     private static final String REQUEST_HEADER = "X-Sharer-User-Id";
 
     @BeforeEach
@@ -89,6 +97,24 @@ public class BookingControllerTest {
                 .booker(user)
                 .status(Status.APPROVED)
                 .build();
+
+        bookingList1Dto = BookingListDto.builder()
+                .id(1L)
+                .start(LocalDateTime.of(2023, 9, 4, 0, 0))
+                .end(LocalDateTime.of(2023, 9, 4, 12, 0))
+                .item(new BookingListDto.ItemShort(item.getId(), item.getName()))
+                .booker(new BookingListDto.BookerShort(user.getId()))
+                .status(Status.APPROVED)
+                .build();
+
+        bookingList2Dto = BookingListDto.builder()
+                .id(2L)
+                .start(LocalDateTime.of(2023, 9, 4, 14, 0))
+                .end(LocalDateTime.of(2023, 9, 4, 16, 0))
+                .item(new BookingListDto.ItemShort(item.getId(), item.getName()))
+                .booker(new BookingListDto.BookerShort(user.getId()))
+                .status(Status.APPROVED)
+                .build();
     }
 
     @Test
@@ -110,6 +136,29 @@ public class BookingControllerTest {
         verify(bookingService, times(1)).createBooking(1L, bookingDto);
     }
 
+    @Test
+    void addBookings() throws Exception {
+        BookingBatchDto batch = new BookingBatchDto(List.of(bookingDto, bookingDto), false);
+        when(bookingService.createBookings(anyLong(), any(BookingBatchDto.class))).thenReturn(List.of(
+                new BookingBatchResultDto(0, bookindDtoResponse1Dto, null),
+                new BookingBatchResultDto(1, null, "Вещь недоступна.")));
+
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(batch))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(REQUEST_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].booking.status", is(Status.APPROVED.toString())))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].booking").doesNotExist())
+                .andExpect(jsonPath("$[1].error", is("Вещь недоступна.")));
+
+        verify(bookingService, times(1)).createBookings(1L, batch);
+    }
+
     @Test
     void approveBooking() throws Exception {
         when(bookingService.approvedOrRejected(anyBoolean(), anyLong(), anyLong())).thenReturn(bookindDtoResponse1Dto);
@@ -129,6 +178,24 @@ public class BookingControllerTest {
         verify(bookingService, times(1)).approvedOrRejected(true, 1L, 1L);
     }
 
+    @Test
+    void approveBookings() throws Exception {
+        when(bookingService.approvedOrRejectedAll(anyBoolean(), anyLong(), any())).thenReturn(List.of(
+                new BookingBatchResultDto(0, bookindDtoResponse1Dto, null)));
+
+        mvc.perform(patch("/bookings/batch")
+                        .param("approved", "true")
+                        .content(mapper.writeValueAsString(List.of(1L)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(REQUEST_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking.status", is(Status.APPROVED.toString())));
+
+        verify(bookingService, times(1)).approvedOrRejectedAll(true, 1L, List.of(1L));
+    }
+
     @Test
     void getBookingById() throws Exception {
         when(bookingService.getBooking(anyLong(), anyLong())).thenReturn(bookindDtoResponse1Dto);
@@ -147,9 +214,23 @@ public class BookingControllerTest {
         verify(bookingService, times(1)).getBooking(1L, 1L);
     }
 
+    @Test
+    void getAllBookingsByBookerIdReturnsCompactItemAndBooker() throws Exception {
+        when(bookingService.getBookingsByBookerId(any(BookingState.class), anyLong(), anyInt(), anyInt())).thenReturn(List.of(bookingList1Dto));
+
+        mvc.perform(get("/bookings")
+                        .header(REQUEST_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].item.id", is(item.getId()), Long.class))
+                .andExpect(jsonPath("$[0].item.name", is(item.getName())))
+                .andExpect(jsonPath("$[0].item.description").doesNotExist())
+                .andExpect(jsonPath("$[0].booker.id", is(user.getId()), Long.class))
+                .andExpect(jsonPath("$[0].booker.email").doesNotExist());
+    }
+
     @Test
     void getAllBookingsByBookerId() throws Exception {
-        when(bookingService.getBookingsByBookerId(any(BookingState.class), anyLong(), anyInt(), anyInt())).thenReturn(List.of(bookindDtoResponse1Dto, bookindDtoResponse2Dto));
+        when(bookingService.getBookingsByBookerId(any(BookingState.class), anyLong(), anyInt(), anyInt())).thenReturn(List.of(bookingList1Dto, bookingList2Dto));
 
         mvc.perform(get("/bookings")
                         .param("state", "ALL")
@@ -157,14 +238,14 @@ public class BookingControllerTest {
                         .param("size", String.valueOf(10))
                         .header(REQUEST_HEADER, 1L))
                 .andExpect(status().isOk())
-                .andExpect(content().json(mapper.writeValueAsString(List.of(bookindDtoResponse1Dto, bookindDtoResponse2Dto))));
+                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingList1Dto, bookingList2Dto))));
 
         verify(bookingService, times(1)).getBookingsByBookerId(BookingState.ALL, 1L, 0, 10);
     }
 
     @Test
     void getAllBookingsForAllItemsByOwnerId() throws Exception {
-        when(bookingService.getBookingsByOwnerId(any(BookingState.class), anyLong(), anyInt(), anyInt())).thenReturn(List.of(bookindDtoResponse1Dto, bookindDtoResponse2Dto));
+        when(bookingService.getBookingsByOwnerId(any(BookingState.class), anyLong(), anyInt(), anyInt())).thenReturn(List.of(bookingList1Dto, bookingList2Dto));
 
         mvc.perform(get("/bookings/owner")
                         .param("state", "ALL")
@@ -172,8 +253,42 @@ public class BookingControllerTest {
                         .param("size", String.valueOf(10))
                         .header(REQUEST_HEADER, 1L))
                 .andExpect(status().isOk())
-                .andExpect(content().json(mapper.writeValueAsString(List.of(bookindDtoResponse1Dto, bookindDtoResponse2Dto))));
+                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingList1Dto, bookingList2Dto))));
 
         verify(bookingService, times(1)).getBookingsByOwnerId(BookingState.ALL, 1L, 0, 10);
     }
+
+    @Test
+    void getBookingsByBookerIdAfterCursor() throws Exception {
+        when(bookingService.getBookingsByBookerIdAfterCursor(any(BookingState.class), anyLong(), anyString(), anyInt()))
+                .thenReturn(new BookingCursorPageDto(List.of(bookingList1Dto), "next"));
+
+        mvc.perform(get("/bookings")
+                        .param("state", "ALL")
+                        .param("cursor", "")
+                        .param("size", String.valueOf(1))
+                        .header(REQUEST_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingList1Dto))));
+
+        verify(bookingService, times(1)).getBookingsByBookerIdAfterCursor(BookingState.ALL, 1L, "", 1);
+    }
+
+    @Test
+    void getBookingsByOwnerIdAfterLastCursor() throws Exception {
+        when(bookingService.getBookingsByOwnerIdAfterCursor(any(BookingState.class), anyLong(), anyString(), anyInt()))
+                .thenReturn(new BookingCursorPageDto(List.of(bookingList2Dto), null));
+
+        mvc.perform(get("/bookings/owner")
+                        .param("state", "ALL")
+                        .param("cursor", "token")
+                        .param("size", String.valueOf(1))
+                        .header(REQUEST_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingList2Dto))));
+
+        verify(bookingService, times(1)).getBookingsByOwnerIdAfterCursor(BookingState.ALL, 1L, "token", 1);
+    }
 }
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.exception.NotAvailableException;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BookingCursorTest {
+
+    @Test
+    void whenEncodeAndDecodeCursorIsSuccess() {
+        BookingCursor expected = new BookingCursor(LocalDateTime.of(2023, 9, 4, 12, 30, 15, 123456000), 42L);
+
+        BookingCursor actual = BookingCursor.decode(expected.encode());
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void whenDecodeInvalidCursorIsNotSuccess() {
+        assertThatThrownBy(() -> BookingCursor.decode("not a cursor"))
+                .isInstanceOf(NotAvailableException.class)
+                .message()
+                .isEqualTo("Некорректный курсор: not a cursor");
+    }
+}
@@ -0,0 +1,232 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.exception.NotAvailableException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingIntervalIndexTest {
+
+    @InjectMocks
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private Item item;
+    private Booking longBooking;
+    private Booking shortBooking;
+
+    @BeforeEach
+    void setUp() {
+        item = Item.builder()
+                .id(1L)
+                .build();
+
+        longBooking = Booking.builder()
+                .id(1L)
+                .item(item)
+                .start(now.plusDays(1))
+                .end(now.plusDays(10))
+                .status(Status.APPROVED)
+                .build();
+
+        shortBooking = Booking.builder()
+                .id(2L)
+                .item(item)
+                .start(now.plusDays(2))
+                .end(now.plusDays(3))
+                .status(Status.WAITING)
+                .build();
+    }
+
+    @Test
+    void whenReserveFreeSlotIsSuccess() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(anyLong(), any(), any()))
+                .thenReturn(List.of(shortBooking));
+        Booking booking = bookingOf(3L, now.plusDays(3), now.plusDays(4));
+
+        Booking actual = bookingIntervalIndex.reserve(item.getId(), booking.getStart(), booking.getEnd(), () -> booking);
+
+        assertThat(actual).isEqualTo(booking);
+    }
+
+    @Test
+    void whenReserveSlotInsideEarlierLongBookingIsNotSuccess() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(anyLong(), any(), any()))
+                .thenReturn(List.of(longBooking, shortBooking));
+        Booking booking = bookingOf(3L, now.plusDays(5), now.plusDays(6));
+
+        assertThatThrownBy(() -> bookingIntervalIndex.reserve(item.getId(), booking.getStart(), booking.getEnd(),
+                () -> booking))
+                .isInstanceOf(NotAvailableException.class);
+    }
+
+    @Test
+    void whenReserveSameSlotTwiceIsNotSuccess() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(anyLong(), any(), any()))
+                .thenReturn(List.of());
+        Booking first = bookingOf(3L, now.plusDays(1), now.plusDays(2));
+        Booking second = bookingOf(4L, now.plusDays(1).plusHours(12), now.plusDays(3));
+        bookingIntervalIndex.reserve(item.getId(), first.getStart(), first.getEnd(), () -> first);
+
+        assertThatThrownBy(() -> bookingIntervalIndex.reserve(item.getId(), second.getStart(), second.getEnd(),
+                () -> second))
+                .isInstanceOf(NotAvailableException.class);
+        verify(bookingRepository, times(1)).findAllByItemIdAndStatusInAndEndIsAfter(anyLong(), any(), any());
+    }
+
+    @Test
+    void whenReserveAfterReleaseIsSuccess() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(anyLong(), any(), any()))
+                .thenReturn(List.of(shortBooking));
+        Booking booking = bookingOf(3L, shortBooking.getStart(), shortBooking.getEnd());
+        bookingIntervalIndex.reserve(item.getId(), now.plusDays(5), now.plusDays(6), () -> bookingOf(5L,
+                now.plusDays(5), now.plusDays(6)));
+
+        bookingIntervalIndex.release(shortBooking);
+        Booking actual = bookingIntervalIndex.reserve(item.getId(), booking.getStart(), booking.getEnd(), () -> booking);
+
+        assertThat(actual).isEqualTo(booking);
+    }
+
+    @Test
+    void whenReserveAllThenOverlappingEntriesAreSkipped() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(anyLong(), any(), any()))
+                .thenReturn(List.of(shortBooking));
+        Booking free = bookingOf(null, now.plusDays(4), now.plusDays(5));
+        Booking overlapsExisting = bookingOf(null, now.plusDays(2), now.plusDays(4));
+        Booking overlapsBatch = bookingOf(null, now.plusDays(4).plusHours(1), now.plusDays(6));
+        List<Booking> rejected = new ArrayList<>();
+
+        List<Booking> actual = bookingIntervalIndex.reserveAll(List.of(free, overlapsExisting, overlapsBatch),
+                (booking, e) -> rejected.add(booking),
+                accepted -> {
+                    accepted.forEach(booking -> booking.setId(10L));
+                    return accepted;
+                });
+
+        assertThat(actual).containsExactly(free);
+        assertThat(rejected).containsExactly(overlapsExisting, overlapsBatch);
+        assertThatThrownBy(() -> bookingIntervalIndex.reserve(item.getId(), free.getStart(), free.getEnd(),
+                () -> free))
+                .isInstanceOf(NotAvailableException.class);
+    }
+
+    @Test
+    void whenReservedOutOfOrderThenOverlapsAreStillFound() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(anyLong(), any(), any()))
+                .thenReturn(List.of());
+        Booking late = bookingOf(3L, now.plusDays(5), now.plusDays(6));
+        Booking early = bookingOf(4L, now.plusDays(1), now.plusDays(2));
+        Booking between = bookingOf(5L, now.plusDays(3), now.plusDays(4));
+        bookingIntervalIndex.reserve(item.getId(), late.getStart(), late.getEnd(), () -> late);
+        bookingIntervalIndex.reserve(item.getId(), early.getStart(), early.getEnd(), () -> early);
+
+        assertThat(bookingIntervalIndex.reserve(item.getId(), between.getStart(), between.getEnd(), () -> between))
+                .isEqualTo(between);
+        assertThatThrownBy(() -> bookingIntervalIndex.reserve(item.getId(), now.plusDays(1).plusHours(12),
+                now.plusDays(2).plusHours(12), () -> bookingOf(6L, now, now)))
+                .isInstanceOf(NotAvailableException.class);
+    }
+
+    @Test
+    void whenTransactionRolledBackThenReservedSlotIsFreed() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(anyLong(), any(), any()))
+                .thenReturn(List.of());
+        Booking booking = bookingOf(3L, now.plusDays(1), now.plusDays(2));
+
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK,
+                () -> bookingIntervalIndex.reserve(item.getId(), booking.getStart(), booking.getEnd(),
+                        () -> booking));
+
+        assertThat(bookingIntervalIndex.reserve(item.getId(), booking.getStart(), booking.getEnd(), () -> booking))
+                .isEqualTo(booking);
+    }
+
+    @Test
+    void whenReservedInTransactionThenItemStaysLockedUntilCompletion() throws Exception {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(anyLong(), any(), any()))
+                .thenReturn(List.of());
+        Booking first = bookingOf(3L, now.plusDays(1), now.plusDays(2));
+        Booking second = bookingOf(4L, now.plusDays(3), now.plusDays(4));
+        TransactionSynchronizationManager.initSynchronization();
+        CompletableFuture<Booking> concurrent;
+        try {
+            bookingIntervalIndex.reserve(item.getId(), first.getStart(), first.getEnd(), () -> first);
+            concurrent = CompletableFuture.supplyAsync(() -> bookingIntervalIndex.reserve(item.getId(),
+                    second.getStart(), second.getEnd(), () -> second));
+            Thread.sleep(100);
+            assertThat(concurrent).isNotDone();
+        } finally {
+            finishSynchronization(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertThat(concurrent.get(5, TimeUnit.SECONDS)).isEqualTo(second);
+    }
+
+    @Test
+    void whenInvalidatedThenIntervalsAreReloaded() {
+        when(bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(anyLong(), any(), any()))
+                .thenReturn(List.of());
+        Booking booking = bookingOf(3L, now.plusDays(1), now.plusDays(2));
+        bookingIntervalIndex.reserve(item.getId(), booking.getStart(), booking.getEnd(), () -> booking);
+
+        bookingIntervalIndex.invalidateAll();
+
+        assertThat(bookingIntervalIndex.reserve(item.getId(), booking.getStart(), booking.getEnd(), () -> booking))
+                .isEqualTo(booking);
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatusInAndEndIsAfter(anyLong(), any(), any());
+    }
+
+    private void completeTransaction(int status, Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+        } finally {
+            finishSynchronization(status);
+        }
+    }
+
+    private void finishSynchronization(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private Booking bookingOf(Long id, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .id(id)
+                .item(item)
+                .start(start)
+                .end(end)
+                .status(Status.WAITING)
+                .build();
+    }
+}
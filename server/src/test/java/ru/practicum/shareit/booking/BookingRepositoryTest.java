@@ -1,24 +1,29 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListView;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.ChangeStamp;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -82,190 +87,395 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void whenFindFirstByItemIdAndStartBeforeAndStatusOrderByEndDesc() {
-        booking1.setStart(LocalDateTime.now().plusHours(1));
+    void whenFindChangeStampByItemIdThenOnlyApprovedBookingsAreCounted() {
+        booking1.setStart(LocalDateTime.now().minusHours(2));
+        booking1.setStatus(Status.APPROVED);
+        booking2.setStatus(Status.APPROVED);
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
-        Booking expected = booking1;
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
 
-        Booking actual = bookingRepository.findFirstByItemIdAndStartBeforeAndStatusOrderByEndDesc(item.getId(), LocalDateTime.now().plusDays(2), Status.WAITING);
+        ChangeStamp actual = bookingRepository.findChangeStampByItemId(item.getId(), LocalDateTime.now(), Status.APPROVED);
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual.getCount()).isEqualTo(2L);
+        assertThat(actual.getMaxId()).isEqualTo(booking2.getId());
+        assertThat(actual.getChecksum()).isEqualTo(1L);
     }
 
     @Test
-    void whenFindFirstByItemIdAndStartAfterAndStatusOrderByStartAsc() {
-        booking1.setStart(LocalDateTime.now().plusHours(10));
+    void whenInsertAllThenIdsAreAssignedInOrder() {
+        entityManager.persist(user);
+        entityManager.persist(item);
+
+        List<Booking> actual = bookingRepository.insertAll(List.of(booking1, booking2, booking3));
+
+        assertThat(actual).extracting(Booking::getId).doesNotContainNull().isSorted().doesNotHaveDuplicates();
+        assertThat(bookingRepository.findById(booking3.getId()))
+                .hasValueSatisfying(saved -> assertThat(saved.getStatus()).isEqualTo(Status.WAITING));
+    }
+
+    @Test
+    void whenUpdateStatusIfWaitingThenOnlyFirstUpdateByOwnerSucceeds() {
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
-        Booking expected = booking1;
+        entityManager.flush();
 
-        Booking actual = bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(item.getId(), LocalDateTime.now(), Status.WAITING);
+        int byStranger = bookingRepository.updateStatusIfWaiting(booking1.getId(), user.getId() + 1, Status.APPROVED);
+        int first = bookingRepository.updateStatusIfWaiting(booking1.getId(), user.getId(), Status.APPROVED);
+        int second = bookingRepository.updateStatusIfWaiting(booking1.getId(), user.getId(), Status.REJECTED);
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(List.of(byStranger, first, second)).containsExactly(0, 1, 0);
+        assertThat(bookingRepository.findById(booking1.getId())).hasValueSatisfying(saved -> {
+            assertThat(saved.getStatus()).isEqualTo(Status.APPROVED);
+            assertThat(saved.getVersion()).isEqualTo(1L);
+        });
     }
 
     @Test
-    void whenFindAllByItemIdInAndStartIsBeforeAndEndIsAfterOrderByStartDescPageable() {
-        booking1.setStart(LocalDateTime.now().plusHours(3));
-        booking2.setStart(LocalDateTime.now().plusHours(2));
-        booking1.setEnd(LocalDateTime.now().plusHours(9));
-        booking2.setEnd(LocalDateTime.now().plusHours(10));
+    void whenUpdateAllStatusIfWaitingThenCountsArePerBooking() {
+        booking2.setStatus(Status.REJECTED);
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
         entityManager.persist(booking2);
-        Page<Booking> expected = new PageImpl<>(List.of(booking1, booking2));
+        entityManager.flush();
 
-        Page<Booking> actual = bookingRepository.findAllByItemIdInAndStartIsBeforeAndEndIsAfterOrderByStartDesc(List.of(item.getId()),
-                LocalDateTime.now().plusHours(6), LocalDateTime.now().plusHours(7), pageRequest);
+        int[] actual = bookingRepository.updateAllStatusIfWaiting(List.of(booking1, booking2, booking1),
+                user.getId(), Status.APPROVED);
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual).containsExactly(1, 0, 0);
     }
 
     @Test
-    void whenFindAllByItemIdInAndEndIsBeforeOrderByStartDescPageable() {
-        booking1.setEnd(LocalDateTime.now().plusHours(3));
-        booking2.setEnd(LocalDateTime.now().plusHours(2));
+    void whenUpdateAllStatusIfWaitingWithStaleVersionThenBookingIsNotChanged() {
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.flush();
+        Booking stale = Booking.builder().id(booking1.getId()).version(booking1.getVersion() - 1).build();
+
+        int[] actual = bookingRepository.updateAllStatusIfWaiting(List.of(stale), user.getId(), Status.APPROVED);
+
+        assertThat(actual).containsExactly(0);
+        assertThat(bookingRepository.findById(booking1.getId()))
+                .hasValueSatisfying(saved -> assertThat(saved.getStatus()).isEqualTo(Status.WAITING));
+    }
+
+    @Test
+    void whenFindLastBookingsByItemIdIn() {
+        booking1.setStart(LocalDateTime.now().minusHours(10));
+        booking1.setEnd(LocalDateTime.now().minusHours(5));
+        booking1.setStatus(Status.APPROVED);
+        booking2.setStart(LocalDateTime.now().minusHours(4));
+        booking2.setEnd(LocalDateTime.now().minusHours(2));
+        booking2.setStatus(Status.APPROVED);
+        booking3.setStart(LocalDateTime.now().minusHours(3));
+        booking3.setEnd(LocalDateTime.now().minusHours(1));
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
         entityManager.persist(booking2);
-        Page<Booking> expected = new PageImpl<>(List.of(booking1, booking2));
+        entityManager.persist(booking3);
+        List<Booking> expected = List.of(booking2);
 
-        Page<Booking> actual = bookingRepository.findAllByItemIdInAndEndIsBeforeOrderByStartDesc(List.of(item.getId()),
-                LocalDateTime.now().plusHours(7), pageRequest);
+        List<Booking> actual = bookingRepository.findLastBookingsByItemIdIn(List.of(item.getId()),
+                LocalDateTime.now(), Status.APPROVED);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
     @Test
-    void whenFindAllByItemIdInAndStartIsAfterOrderByStartDescPageable() {
+    void whenFindNextBookingsByItemIdIn() {
         booking1.setStart(LocalDateTime.now().plusHours(5));
-        booking2.setStart(LocalDateTime.now().plusHours(4));
+        booking1.setStatus(Status.APPROVED);
+        booking2.setStart(LocalDateTime.now().plusHours(2));
+        booking2.setStatus(Status.APPROVED);
+        booking3.setStart(LocalDateTime.now().plusHours(1));
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
         entityManager.persist(booking2);
-        Page<Booking> expected = new PageImpl<>(List.of(booking1, booking2));
+        entityManager.persist(booking3);
+        List<Booking> expected = List.of(booking2);
 
-        Page<Booking> actual = bookingRepository.findAllByItemIdInAndStartIsAfterOrderByStartDesc(List.of(item.getId()),
-                LocalDateTime.now().plusHours(2), pageRequest);
+        List<Booking> actual = bookingRepository.findNextBookingsByItemIdIn(List.of(item.getId()),
+                LocalDateTime.now(), Status.APPROVED);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
     @Test
-    void whenFindAllByItemIdInOrderByStartDescPageable() {
+    void whenFindLastBookingsByItemIdInThenStatusAndStartBeforeAreApplied() {
+        booking1.setStart(LocalDateTime.now().plusHours(1));
+        booking2.setStart(LocalDateTime.now().plusDays(3));
+        booking2.setEnd(LocalDateTime.now().plusDays(4));
+        booking3.setStatus(Status.APPROVED);
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
         entityManager.persist(booking2);
         entityManager.persist(booking3);
-        Page<Booking> expected = new PageImpl(List.of(booking1, booking2, booking3));
+        List<Booking> expected = List.of(booking1);
 
-        Page<Booking> actual = bookingRepository.findAllByItemIdInOrderByStartDesc(List.of(item.getId()), pageRequest);
+        List<Booking> actual = bookingRepository.findLastBookingsByItemIdIn(List.of(item.getId()),
+                LocalDateTime.now().plusDays(2), Status.WAITING);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
     @Test
-    void whenFindAllByItemIdInAndStatusIsOrderByStartDescPageable() {
+    void whenFindNextBookingsByItemIdInThenEachItemGetsItsEarliestBooking() {
+        Item otherItem = Item.builder()
+                .name("other")
+                .available(true)
+                .description("desc")
+                .owner(user)
+                .build();
+        booking1.setStart(LocalDateTime.now().plusHours(10));
+        booking2.setStart(LocalDateTime.now().plusHours(12));
+        booking3.setStart(LocalDateTime.now().plusHours(11));
+        booking3.setItem(otherItem);
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(otherItem);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+        List<Booking> expected = List.of(booking1, booking3);
+
+        List<Booking> actual = bookingRepository.findNextBookingsByItemIdIn(List.of(item.getId(), otherItem.getId()),
+                LocalDateTime.now(), Status.WAITING);
+
+        assertThat(actual).usingRecursiveComparison().ignoringCollectionOrder().isEqualTo(expected);
+    }
+
+    @Test
+    void whenFindOwnerAllThenOnlyListColumnsAreProjected() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        booking1.setStart(now.plusHours(3));
+        booking1.setEnd(now.plusHours(20));
+        booking2.setStart(now.plusHours(2));
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+
+        Slice<BookingListView> actual = bookingRepository.findOwnerAll(user.getId(), pageRequest);
+
+        assertThat(ids(actual)).isEqualTo(List.of(booking1.getId(), booking2.getId()));
+        BookingListView view = actual.getContent().get(0);
+        assertThat(view.getStart()).isEqualTo(booking1.getStart());
+        assertThat(view.getEnd()).isEqualTo(booking1.getEnd());
+        assertThat(view.getStatus()).isEqualTo(Status.WAITING);
+        assertThat(view.getItemId()).isEqualTo(item.getId());
+        assertThat(view.getItemName()).isEqualTo(item.getName());
+        assertThat(view.getBookerId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    void whenFindOwnerCurrent() {
+        LocalDateTime now = LocalDateTime.now();
+        booking1.setStart(now.minusHours(1));
+        booking1.setEnd(now.plusHours(1));
+        booking2.setStart(now.minusHours(2));
+        booking2.setEnd(now.plusHours(2));
+        booking3.setStart(now.plusHours(1));
+        booking3.setEnd(now.plusHours(2));
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+
+        Slice<BookingListView> actual = bookingRepository.findOwnerCurrent(user.getId(), now, pageRequest);
+
+        assertThat(ids(actual)).isEqualTo(List.of(booking1.getId(), booking2.getId()));
+    }
+
+    @Test
+    void whenFindOwnerPast() {
+        LocalDateTime now = LocalDateTime.now();
+        booking1.setStart(now.minusHours(3));
+        booking1.setEnd(now.minusHours(1));
+        booking2.setStart(now.minusHours(4));
+        booking2.setEnd(now.minusHours(2));
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+
+        Slice<BookingListView> actual = bookingRepository.findOwnerPast(user.getId(), now, pageRequest);
+
+        assertThat(ids(actual)).isEqualTo(List.of(booking1.getId(), booking2.getId()));
+    }
+
+    @Test
+    void whenFindOwnerFuture() {
+        LocalDateTime now = LocalDateTime.now();
+        booking1.setStart(now.plusHours(5));
+        booking2.setStart(now.plusHours(4));
+        booking3.setStart(now.minusHours(1));
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+
+        Slice<BookingListView> actual = bookingRepository.findOwnerFuture(user.getId(), now, pageRequest);
+
+        assertThat(ids(actual)).isEqualTo(List.of(booking1.getId(), booking2.getId()));
+    }
+
+    @Test
+    void whenFindOwnerByStatus() {
+        booking1.setStart(LocalDateTime.now().plusHours(3));
+        booking2.setStart(LocalDateTime.now().plusHours(2));
         booking3.setStatus(Status.APPROVED);
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
         entityManager.persist(booking2);
         entityManager.persist(booking3);
-        Page<Booking> expected = new PageImpl(List.of(booking1, booking2));
 
-        Page<Booking> actual = bookingRepository.findAllByItemIdInAndStatusIsOrderByStartDesc(
-                List.of(item.getId()), Status.WAITING, pageRequest);
+        Slice<BookingListView> actual = bookingRepository.findOwnerByStatus(user.getId(), Status.WAITING, pageRequest);
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(ids(actual)).isEqualTo(List.of(booking1.getId(), booking2.getId()));
     }
 
     @Test
-    void whenFindAllByBookerIdOrderByStartDescPageable() {
+    void whenFindBookerAllBeforeCursor() {
+        LocalDateTime start = LocalDateTime.now().plusHours(3).truncatedTo(ChronoUnit.SECONDS);
+        booking1.setStart(start);
+        booking2.setStart(start);
+        booking3.setStart(start.minusHours(1));
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+
+        Slice<BookingListView> actual = bookingRepository.findBookerAllBeforeCursor(user.getId(), start,
+                booking2.getId(), pageRequest);
+
+        assertThat(ids(actual)).isEqualTo(List.of(booking1.getId(), booking3.getId()));
+    }
+
+    @Test
+    void whenFindOwnerByStatusBeforeCursor() {
+        booking1.setStart(LocalDateTime.now().plusHours(5).truncatedTo(ChronoUnit.SECONDS));
+        booking2.setStart(LocalDateTime.now().plusHours(4));
+        booking3.setStart(LocalDateTime.now().plusHours(3));
+        booking3.setStatus(Status.APPROVED);
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+
+        Slice<BookingListView> actual = bookingRepository.findOwnerByStatusBeforeCursor(user.getId(),
+                booking1.getStart(), booking1.getId(), Status.WAITING, pageRequest);
+
+        assertThat(ids(actual)).isEqualTo(List.of(booking2.getId()));
+    }
+
+    @Test
+    void whenFindBookerAll() {
         booking1.setStart(LocalDateTime.now().plusHours(3));
         booking2.setStart(LocalDateTime.now().plusHours(2));
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
         entityManager.persist(booking2);
-        Page<Booking> expected = new PageImpl<>(List.of(booking1, booking2));
 
-        Page<Booking> actual = bookingRepository.findAllByBookerIdOrderByStartDesc(user.getId(), pageRequest);
+        Slice<BookingListView> actual = bookingRepository.findBookerAll(user.getId(), pageRequest);
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(ids(actual)).isEqualTo(List.of(booking1.getId(), booking2.getId()));
     }
 
     @Test
-    void whenFindAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDescPageable() {
-        booking1.setStart(LocalDateTime.now().plusHours(8));
-        booking2.setStart(LocalDateTime.now().plusHours(7));
-        booking1.setEnd(LocalDateTime.now().plusHours(14));
-        booking2.setEnd(LocalDateTime.now().plusHours(13));
+    void whenFindBookerAllSliceHasNext() {
+        booking1.setStart(LocalDateTime.now().plusHours(3));
+        booking2.setStart(LocalDateTime.now().plusHours(2));
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
         entityManager.persist(booking2);
-        Page<Booking> expected = new PageImpl<>(List.of(booking1, booking2));
+        entityManager.persist(booking3);
 
-        Page<Booking> actual = bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(user.getId(),
-                LocalDateTime.now().plusHours(10), LocalDateTime.now().plusHours(12), pageRequest);
+        Slice<BookingListView> actual = bookingRepository.findBookerAll(user.getId(), PageRequest.of(0, 2));
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(ids(actual)).isEqualTo(List.of(booking1.getId(), booking2.getId()));
+        assertThat(actual.hasNext()).isTrue();
     }
 
     @Test
-    void whenFindAllByBookerIdAndEndIsBeforeOrderByStartDescPageable() {
-        booking1.setEnd(LocalDateTime.now().plusHours(5));
-        booking2.setEnd(LocalDateTime.now().plusHours(4));
+    void whenFindBookerCurrent() {
+        LocalDateTime now = LocalDateTime.now();
+        booking1.setStart(now.minusHours(1));
+        booking1.setEnd(now.plusHours(1));
+        booking2.setStart(now.plusHours(1));
+        booking2.setEnd(now.plusHours(2));
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
         entityManager.persist(booking2);
-        Page<Booking> expected = new PageImpl<>(List.of(booking1, booking2));
 
-        Page<Booking> actual = bookingRepository.findAllByBookerIdAndEndIsBeforeOrderByStartDesc(user.getId(),
-                LocalDateTime.now().plusHours(10), pageRequest);
+        Slice<BookingListView> actual = bookingRepository.findBookerCurrent(user.getId(), now, pageRequest);
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(ids(actual)).isEqualTo(List.of(booking1.getId()));
     }
 
     @Test
-    void whenFindAllByBookerIdAndStartIsAfterOrderByStartDescPageable() {
-        booking1.setStart(LocalDateTime.now().plusHours(5));
-        booking2.setStart(LocalDateTime.now().plusHours(4));
+    void whenFindBookerPast() {
+        LocalDateTime now = LocalDateTime.now();
+        booking1.setStart(now.minusHours(3));
+        booking1.setEnd(now.minusHours(1));
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
         entityManager.persist(booking2);
-        Page<Booking> expected = new PageImpl<>(List.of(booking1, booking2));
 
-        Page<Booking> actual = bookingRepository.findAllByBookerIdAndStartIsAfterOrderByStartDesc(user.getId(),
-                LocalDateTime.now().plusHours(2), pageRequest);
+        Slice<BookingListView> actual = bookingRepository.findBookerPast(user.getId(), now, pageRequest);
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(ids(actual)).isEqualTo(List.of(booking1.getId()));
     }
 
     @Test
-    void whenFindAllByBookerIdAndStatusIsOrderByStartDescPageable() {
+    void whenFindBookerFuture() {
+        LocalDateTime now = LocalDateTime.now();
+        booking1.setStart(now.plusHours(5));
+        booking2.setStart(now.plusHours(4));
+        booking3.setStart(now.minusHours(1));
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+
+        Slice<BookingListView> actual = bookingRepository.findBookerFuture(user.getId(), now, pageRequest);
+
+        assertThat(ids(actual)).isEqualTo(List.of(booking1.getId(), booking2.getId()));
+    }
+
+    @Test
+    void whenFindBookerByStatus() {
+        booking1.setStart(LocalDateTime.now().plusHours(3));
+        booking2.setStart(LocalDateTime.now().plusHours(2));
         booking3.setStatus(Status.APPROVED);
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
         entityManager.persist(booking2);
         entityManager.persist(booking3);
-        Page<Booking> expected = new PageImpl<>(List.of(booking1, booking2));
 
-        Page<Booking> actual = bookingRepository.findAllByBookerIdAndStatusIsOrderByStartDesc(user.getId(),
-                Status.WAITING, pageRequest);
+        Slice<BookingListView> actual = bookingRepository.findBookerByStatus(user.getId(), Status.WAITING,
+                pageRequest);
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(ids(actual)).isEqualTo(List.of(booking1.getId(), booking2.getId()));
     }
 
     @Test
@@ -320,6 +530,25 @@ public class BookingRepositoryTest {
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
+    @Test
+    void whenFindAllByItemIdAndStatusInAndEndIsAfter() {
+        booking1.setEnd(LocalDateTime.now().plusHours(2));
+        booking2.setStatus(Status.REJECTED);
+        booking3.setStart(LocalDateTime.now().minusHours(3));
+        booking3.setEnd(LocalDateTime.now().minusHours(1));
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(booking1);
+        entityManager.persist(booking2);
+        entityManager.persist(booking3);
+        List<Booking> expected = List.of(booking1);
+
+        List<Booking> actual = bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(item.getId(),
+                List.of(Status.WAITING, Status.APPROVED), LocalDateTime.now());
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
     @Test
     void whenExistsBookingByItemIdAndBookerIdAndStatusAndEndIsBefore() {
         booking1.setEnd(LocalDateTime.now().plusHours(8));
@@ -334,36 +563,53 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void whenFindAllByItemIdInAndStartIsAfterOrderByStartDesc() {
-        booking1.setStart(LocalDateTime.now().plusHours(5));
-        booking2.setStart(LocalDateTime.now().plusHours(4));
+    void whenFindBookingByIdThenItemAndBookerGraphIsLoaded() {
+        User booker = User.builder()
+                .email("booker@email.com")
+                .name("booker")
+                .build();
+        ItemRequest request = ItemRequest.builder()
+                .description("need")
+                .requester(booker)
+                .created(LocalDateTime.now())
+                .build();
+        item.setRequest(request);
+        booking1.setBooker(booker);
         entityManager.persist(user);
+        entityManager.persist(booker);
+        entityManager.persist(request);
         entityManager.persist(item);
         entityManager.persist(booking1);
-        entityManager.persist(booking2);
-        List<Booking> expected = List.of(booking1, booking2);
+        entityManager.flush();
+        entityManager.clear();
 
-        List<Booking> actual = bookingRepository.findAllByItemIdInAndStartIsAfterOrderByStartDesc(List.of(item.getId()),
-                LocalDateTime.now().plusHours(2));
+        Booking actual = bookingRepository.findById(booking1.getId()).get();
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(Hibernate.isInitialized(actual.getBooker())).isTrue();
+        assertThat(Hibernate.isInitialized(actual.getItem())).isTrue();
+        assertThat(Hibernate.isInitialized(actual.getItem().getOwner())).isTrue();
+        assertThat(Hibernate.isInitialized(actual.getItem().getRequest())).isTrue();
+        assertThat(Hibernate.isInitialized(actual.getItem().getRequest().getRequester())).isTrue();
     }
 
     @Test
-    void whenFindAllByItemIdInAndStartIsBeforeAndEndIsAfterOrderByStartDesc() {
-        booking1.setStart(LocalDateTime.now().plusHours(3));
-        booking2.setStart(LocalDateTime.now().plusHours(2));
-        booking1.setEnd(LocalDateTime.now().plusHours(9));
-        booking2.setEnd(LocalDateTime.now().plusHours(10));
+    void whenFindIntervalsThenAssociationsAreNotLoaded() {
         entityManager.persist(user);
         entityManager.persist(item);
         entityManager.persist(booking1);
-        entityManager.persist(booking2);
-        List<Booking> expected = List.of(booking1, booking2);
+        entityManager.flush();
+        entityManager.clear();
 
-        List<Booking> actual = bookingRepository.findAllByItemIdInAndStartIsBeforeAndEndIsAfterOrderByStartDesc(List.of(item.getId()),
-                LocalDateTime.now().plusHours(6), LocalDateTime.now().plusHours(7));
+        Booking actual = bookingRepository.findAllByItemIdAndStatusInAndEndIsAfter(item.getId(),
+                List.of(Status.WAITING), LocalDateTime.now()).get(0);
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(Hibernate.isInitialized(actual.getItem())).isFalse();
+        assertThat(Hibernate.isInitialized(actual.getBooker())).isFalse();
+    }
+
+    private List<Long> ids(Slice<BookingListView> views) {
+        return views.getContent().stream()
+                .map(BookingListView::getId)
+                .collect(Collectors.toList());
     }
 }
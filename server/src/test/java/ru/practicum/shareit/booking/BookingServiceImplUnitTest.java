@@ -1,33 +1,47 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingBatchDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.NotAvailableException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemDetailsCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ActiveProfiles("unit-test")
@@ -43,6 +57,12 @@ public class BookingServiceImplUnitTest {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     private User user1;
     private User user2;
@@ -90,9 +110,11 @@ public class BookingServiceImplUnitTest {
     @Test
     void whenCreateBookingIsSuccess() {
         BookingDtoResponse expected = BookingMapper.toBookingDtoResponseFromBooking(booking);
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item2));
+        when(itemRepository.findWithOwnerAndRequestById(anyLong())).thenReturn(Optional.of(item2));
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
         when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingIntervalIndex.reserve(anyLong(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Booking>>getArgument(3).get());
 
         BookingDtoResponse actual = bookingService.createBooking(3L, bookingDto);
 
@@ -104,7 +126,7 @@ public class BookingServiceImplUnitTest {
         booking.setItem(item1);
         String expectedMessage = "Владелец вещи не может бронировать свои вещи.";
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item1));
+        when(itemRepository.findWithOwnerAndRequestById(anyLong())).thenReturn(Optional.of(item1));
 
         assertThatThrownBy(() -> bookingService.createBooking(1L, bookingDto))
                 .isInstanceOf(NotFoundException.class)
@@ -112,18 +134,130 @@ public class BookingServiceImplUnitTest {
                 .isEqualTo(expectedMessage);
     }
 
+    @Test
+    void whenCreateBookingsThenInvalidEntriesAreReportedAndValidAreInserted() {
+        BookingDto ownItem = bookingDto.toBuilder().itemId(item1.getId()).build();
+        BookingDto unknownItem = bookingDto.toBuilder().itemId(99L).build();
+        BookingDto validItem = bookingDto.toBuilder().itemId(item2.getId()).build();
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(itemRepository.findAllWithOwnerAndRequestByIdIn(any())).thenReturn(List.of(item1, item2));
+        when(bookingRepository.insertAll(any())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            bookings.forEach(saved -> saved.setId(10L));
+            return bookings;
+        });
+        when(bookingIntervalIndex.reserveAll(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<UnaryOperator<List<Booking>>>getArgument(2)
+                        .apply(invocation.getArgument(0)));
+
+        List<BookingBatchResultDto> actual = bookingService.createBookings(user1.getId(),
+                new BookingBatchDto(List.of(ownItem, unknownItem, validItem), false));
+
+        assertThat(actual).extracting(BookingBatchResultDto::getIndex).containsExactly(0, 1, 2);
+        assertThat(actual.get(0).getError()).isEqualTo("Владелец вещи не может бронировать свои вещи.");
+        assertThat(actual.get(1).getError()).isEqualTo("Вещь с id = 99 не найдена.");
+        assertThat(actual.get(2).getError()).isNull();
+        assertThat(actual.get(2).getBooking().getId()).isEqualTo(10L);
+        assertThat(actual.get(2).getBooking().getStatus()).isEqualTo(Status.WAITING);
+        verify(itemRepository, times(1)).findAllWithOwnerAndRequestByIdIn(Set.of(1L, 2L, 99L));
+    }
+
+    @Test
+    void whenCreateBookingsAllOrNothingWithInvalidEntryIsNotSuccess() {
+        BookingDto ownItem = bookingDto.toBuilder().itemId(item1.getId()).build();
+        BookingDto validItem = bookingDto.toBuilder().itemId(item2.getId()).build();
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(itemRepository.findAllWithOwnerAndRequestByIdIn(any())).thenReturn(List.of(item1, item2));
+
+        assertThatThrownBy(() -> bookingService.createBookings(user1.getId(),
+                new BookingBatchDto(List.of(validItem, ownItem), true)))
+                .isInstanceOf(NotAvailableException.class)
+                .hasMessage("Пакет бронирований отклонён, запись 1: Владелец вещи не может бронировать свои вещи.");
+        verify(bookingRepository, never()).insertAll(any());
+    }
+
     @Test
     void whenApproveOrRejectedIsSuccess() {
         booking.setItem(item1);
+        booking.setStatus(Status.APPROVED);
         BookingDtoResponse expected = BookingMapper.toBookingDtoResponseFromBooking(booking);
-        expected.setStatus(Status.APPROVED);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(bookingRepository.updateStatusIfWaiting(3L, user1.getId(), Status.APPROVED)).thenReturn(1);
         when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any())).thenReturn(booking);
 
         BookingDtoResponse actual = bookingService.approvedOrRejected(true, user1.getId(), 3L);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        verify(itemDetailsCache).invalidate(item1.getId());
+        verify(userRepository, never()).findById(anyLong());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void whenApproveOrRejectedUnknownBookingIsNotSuccess() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> bookingService.approvedOrRejected(true, user1.getId(), 99L))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Бронь с id = 99 не найден.");
+    }
+
+    @Test
+    void whenApproveOrRejectedAllThenEachBookingGetsOwnResult() {
+        Booking approved = BookingMapper.toBooking(bookingDto, user2, item1, Status.APPROVED);
+        approved.setId(5L);
+        booking.setItem(item1);
+        booking.setStatus(Status.APPROVED);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(bookingRepository.findAllByIdIn(List.of(5L, 1L, 7L))).thenReturn(List.of(booking, approved));
+        when(bookingRepository.updateAllStatusIfWaiting(List.of(approved, booking), user1.getId(), Status.APPROVED))
+                .thenReturn(new int[]{1, 0});
+
+        List<BookingBatchResultDto> actual = bookingService.approvedOrRejectedAll(true, user1.getId(),
+                List.of(5L, 1L, 7L));
+
+        assertThat(actual.get(0).getBooking().getId()).isEqualTo(5L);
+        assertThat(actual.get(0).getBooking().getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(actual.get(1).getError()).isEqualTo("Бронь с id = 1 не находится в статусе ожидания");
+        assertThat(actual.get(2).getError()).isEqualTo("Бронь с id = 7 не найден.");
+        verify(itemDetailsCache, times(1)).invalidate(item1.getId());
+    }
+
+    @Test
+    void whenApproveOrRejectedAllWithDuplicateIdsIsNotSuccess() {
+        assertThatThrownBy(() -> bookingService.approvedOrRejectedAll(true, user1.getId(), List.of(5L, 1L, 5L)))
+                .isInstanceOf(NotAvailableException.class)
+                .hasMessage("Пакет содержит повторяющиеся id бронирований.");
+        verify(bookingRepository, never()).updateAllStatusIfWaiting(any(), anyLong(), any());
+    }
+
+    @Test
+    void whenCreateOverlappingBookingIsNotSuccess() {
+        String expectedMessage = "Вещь с id = " + item2.getId() + " уже забронирована";
+        when(itemRepository.findWithOwnerAndRequestById(anyLong())).thenReturn(Optional.of(item2));
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(bookingIntervalIndex.reserve(anyLong(), any(), any(), any()))
+                .thenThrow(new NotAvailableException(expectedMessage));
+
+        assertThatThrownBy(() -> bookingService.createBooking(1L, bookingDto))
+                .isInstanceOf(NotAvailableException.class)
+                .message()
+                .isEqualTo(expectedMessage);
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void whenRejectBookingReleasesInterval() {
+        booking.setItem(item1);
+        booking.setStatus(Status.REJECTED);
+        when(bookingRepository.updateStatusIfWaiting(1L, user1.getId(), Status.REJECTED)).thenReturn(1);
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+
+        BookingDtoResponse actual = bookingService.approvedOrRejected(false, user1.getId(), 1L);
+
+        assertThat(actual.getStatus()).isEqualTo(Status.REJECTED);
+        verify(bookingIntervalIndex).release(booking);
+        verify(itemDetailsCache, never()).invalidate(anyLong());
     }
 
     @Test
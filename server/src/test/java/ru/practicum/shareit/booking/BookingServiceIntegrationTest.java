@@ -7,7 +7,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursorPageDto;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingListDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
@@ -20,13 +23,16 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @SpringBootTest
 @AutoConfigureTestDatabase
@@ -40,20 +46,22 @@ class BookingServiceIntegrationTest {
     private BookingRepository bookingRepository;
     @Autowired
     private BookingServiceImpl bookingService;
+    @Autowired
+    private UserService userService;
 
-    private User owner = new User(0L, "owner", "owner@email.com");
+    private User owner = new User(0L, "owner", "owner@email.com", 0L);
     private UserDto ownerDto;
-    private User booker = new User(0L, "booker", "booker@email.com");
+    private User booker = new User(0L, "booker", "booker@email.com", 0L);
     private UserDto bookerDto;
 
-    private Item item1 = new Item(0L, "item1", "item1 description", true, owner, null, null, null);
-    private Item item2 = new Item(0L, "item2", "item2 description", true, booker, null, null, null);
-    private Item item3 = new Item(0L, "item3", "item3 description", true, booker, null, null, null);
+    private Item item1 = new Item(0L, "item1", "item1 description", true, owner, null, null, null, 0L);
+    private Item item2 = new Item(0L, "item2", "item2 description", true, booker, null, null, null, 0L);
+    private Item item3 = new Item(0L, "item3", "item3 description", true, booker, null, null, null, 0L);
     private ItemDto itemDto;
     private Booking booking1 = new Booking(0L, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2),
-            item1, owner, Status.APPROVED);
+            item1, owner, Status.APPROVED, 0L);
     private Booking booking2 = new Booking(0L, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2),
-            item2, booker, Status.APPROVED);
+            item2, booker, Status.APPROVED, 0L);
 
     private final int from = 0;
     private final int size = 20;
@@ -79,11 +87,38 @@ class BookingServiceIntegrationTest {
         userRepository.deleteAll();
     }
 
+    @Test
+    void createBookingForSlotOfDeletedBookerTest() {
+        bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
+        userService.deleteUserById(booker.getId());
+        User newBooker = userRepository.save(new User(0L, "new booker", "new.booker@email.com", 0L));
+
+        BookingDtoResponse bookingDto = bookingService.createBooking(newBooker.getId(),
+                BookingMapper.toBookingDto(booking1));
+
+        assertEquals(newBooker.getId(), bookingDto.getBooker().getId());
+    }
+
+    @Test
+    void approveAllBookingsTest() {
+        BookingDtoResponse created = bookingService.createBooking(booker.getId(),
+                BookingMapper.toBookingDto(booking1));
+
+        List<BookingBatchResultDto> results = bookingService.approvedOrRejectedAll(true, owner.getId(),
+                List.of(created.getId(), 999L));
+
+        assertEquals(Status.APPROVED, results.get(0).getBooking().getStatus());
+        assertEquals("Бронь с id = 999 не найден.", results.get(1).getError());
+        Booking saved = bookingRepository.findById(created.getId()).orElseThrow();
+        assertEquals(Status.APPROVED, saved.getStatus());
+        assertEquals(1L, saved.getVersion());
+    }
+
     @Test
     void getAllBookingsByBookerAllStateTest() {
         BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
         BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
-        Collection<BookingDtoResponse> bookings = bookingService.getBookingsByBookerId(BookingState.ALL, booker.getId(), from, size);
+        Collection<BookingListDto> bookings = bookingService.getBookingsByBookerId(BookingState.ALL, booker.getId(), from, size);
         assertEquals(2L, bookings.size());
         assertThat(bookings.containsAll(List.of(bookingDto1, bookingDto2)));
     }
@@ -92,16 +127,25 @@ class BookingServiceIntegrationTest {
     void getAllBookingsForOwnerAllStateItems() {
         BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
         BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
-        Collection<BookingDtoResponse> bookings = bookingService.getBookingsByOwnerId(BookingState.ALL, booker.getId(), from, size);
+        Collection<BookingListDto> bookings = bookingService.getBookingsByOwnerId(BookingState.ALL, booker.getId(), from, size);
         assertEquals(0L, bookings.size());
         assertThat(bookings.containsAll(List.of(bookingDto1, bookingDto2)));
     }
 
+    @Test
+    void getAllBookingsForOwnerAllStateOwnItems() {
+        BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
+        BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
+        Collection<BookingListDto> bookings = bookingService.getBookingsByOwnerId(BookingState.ALL, owner.getId(), from, size);
+        assertEquals(2L, bookings.size());
+        assertThat(bookings.containsAll(List.of(bookingDto1, bookingDto2)));
+    }
+
     @Test
     void getAllBookingsByBookerCurrentStateTest() {
         BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
         BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
-        Collection<BookingDtoResponse> bookings = bookingService.getBookingsByBookerId(BookingState.CURRENT, booker.getId(), from, size);
+        Collection<BookingListDto> bookings = bookingService.getBookingsByBookerId(BookingState.CURRENT, booker.getId(), from, size);
         assertEquals(0L, bookings.size());
         assertThat(bookings.containsAll(List.of(bookingDto1, bookingDto2)));
     }
@@ -110,7 +154,7 @@ class BookingServiceIntegrationTest {
     void getAllBookingsForOwnerCurrentStateItems() {
         BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
         BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
-        Collection<BookingDtoResponse> bookings = bookingService.getBookingsByOwnerId(BookingState.CURRENT, booker.getId(), from, size);
+        Collection<BookingListDto> bookings = bookingService.getBookingsByOwnerId(BookingState.CURRENT, booker.getId(), from, size);
         assertEquals(0L, bookings.size());
         assertThat(bookings.containsAll(List.of(bookingDto1, bookingDto2)));
     }
@@ -119,7 +163,7 @@ class BookingServiceIntegrationTest {
     void getAllBookingsByBookerPastStateTest() {
         BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
         BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
-        Collection<BookingDtoResponse> bookings = bookingService.getBookingsByBookerId(BookingState.PAST, booker.getId(), from, size);
+        Collection<BookingListDto> bookings = bookingService.getBookingsByBookerId(BookingState.PAST, booker.getId(), from, size);
         assertEquals(0L, bookings.size());
         assertThat(bookings.containsAll(List.of(bookingDto1, bookingDto2)));
     }
@@ -128,7 +172,7 @@ class BookingServiceIntegrationTest {
     void getAllBookingsForOwnerPastStateItems() {
         BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
         BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
-        Collection<BookingDtoResponse> bookings = bookingService.getBookingsByOwnerId(BookingState.PAST, booker.getId(), from, size);
+        Collection<BookingListDto> bookings = bookingService.getBookingsByOwnerId(BookingState.PAST, booker.getId(), from, size);
         assertEquals(0L, bookings.size());
         assertThat(bookings.containsAll(List.of(bookingDto1, bookingDto2)));
     }
@@ -137,7 +181,7 @@ class BookingServiceIntegrationTest {
     void getAllBookingsByBookerFutureStateTest() {
         BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
         BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
-        Collection<BookingDtoResponse> bookings = bookingService.getBookingsByBookerId(BookingState.FUTURE, booker.getId(), from, size);
+        Collection<BookingListDto> bookings = bookingService.getBookingsByBookerId(BookingState.FUTURE, booker.getId(), from, size);
         assertEquals(2L, bookings.size());
         assertThat(bookings.containsAll(List.of(bookingDto1, bookingDto2)));
     }
@@ -146,7 +190,7 @@ class BookingServiceIntegrationTest {
     void getAllBookingsForOwnerFutureStateItems() {
         BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
         BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
-        Collection<BookingDtoResponse> bookings = bookingService.getBookingsByOwnerId(BookingState.FUTURE, booker.getId(), from, size);
+        Collection<BookingListDto> bookings = bookingService.getBookingsByOwnerId(BookingState.FUTURE, booker.getId(), from, size);
         assertEquals(0L, bookings.size());
         assertThat(bookings.containsAll(List.of(bookingDto1, bookingDto2)));
     }
@@ -155,7 +199,7 @@ class BookingServiceIntegrationTest {
     void getAllBookingsByBookerWaitingStateTest() {
         BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
         BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
-        Collection<BookingDtoResponse> bookings = bookingService.getBookingsByBookerId(BookingState.WAITING, booker.getId(), from, size);
+        Collection<BookingListDto> bookings = bookingService.getBookingsByBookerId(BookingState.WAITING, booker.getId(), from, size);
         assertEquals(2L, bookings.size());
         assertThat(bookings.containsAll(List.of(bookingDto1, bookingDto2)));
     }
@@ -164,7 +208,7 @@ class BookingServiceIntegrationTest {
     void getAllBookingsForOwnerWaitingStateItems() {
         BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
         BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
-        Collection<BookingDtoResponse> bookings = bookingService.getBookingsByOwnerId(BookingState.WAITING, booker.getId(), from, size);
+        Collection<BookingListDto> bookings = bookingService.getBookingsByOwnerId(BookingState.WAITING, booker.getId(), from, size);
         assertEquals(0L, bookings.size());
         assertThat(bookings.containsAll(List.of(bookingDto1, bookingDto2)));
     }
@@ -173,7 +217,7 @@ class BookingServiceIntegrationTest {
     void getAllBookingsByBookerRejectedStateTest() {
         BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
         BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
-        Collection<BookingDtoResponse> bookings = bookingService.getBookingsByBookerId(BookingState.REJECTED, booker.getId(), from, size);
+        Collection<BookingListDto> bookings = bookingService.getBookingsByBookerId(BookingState.REJECTED, booker.getId(), from, size);
         assertEquals(0L, bookings.size());
         assertThat(bookings.containsAll(List.of(bookingDto1, bookingDto2)));
     }
@@ -182,8 +226,32 @@ class BookingServiceIntegrationTest {
     void getAllBookingsForOwnerRejectedStateItems() {
         BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
         BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
-        Collection<BookingDtoResponse> bookings = bookingService.getBookingsByOwnerId(BookingState.REJECTED, booker.getId(), from, size);
+        Collection<BookingListDto> bookings = bookingService.getBookingsByOwnerId(BookingState.REJECTED, booker.getId(), from, size);
         assertEquals(0L, bookings.size());
         assertThat(bookings.containsAll(List.of(bookingDto1, bookingDto2)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllBookingsByBookerAfterCursorTest() {
+        BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
+        BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
+        BookingCursorPageDto firstPage = bookingService.getBookingsByBookerIdAfterCursor(BookingState.ALL, booker.getId(), "", 1);
+        BookingCursorPageDto secondPage = bookingService.getBookingsByBookerIdAfterCursor(BookingState.ALL, booker.getId(),
+                firstPage.getNextCursor(), 1);
+        assertEquals(bookingDto2.getId(), firstPage.getBookings().get(0).getId());
+        assertEquals(1L, firstPage.getBookings().size());
+        assertEquals(bookingDto1.getId(), secondPage.getBookings().get(0).getId());
+        assertEquals(1L, secondPage.getBookings().size());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void getAllBookingsForOwnerAfterCursorTest() {
+        BookingDtoResponse bookingDto1 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking1));
+        BookingDtoResponse bookingDto2 = bookingService.createBooking(booker.getId(), BookingMapper.toBookingDto(booking2));
+        BookingCursorPageDto page = bookingService.getBookingsByOwnerIdAfterCursor(BookingState.WAITING, owner.getId(), "", 2);
+        assertEquals(List.of(bookingDto2.getId(), bookingDto1.getId()),
+                page.getBookings().stream().map(BookingListDto::getId).collect(Collectors.toList()));
+        assertNull(page.getNextCursor());
+    }
+}
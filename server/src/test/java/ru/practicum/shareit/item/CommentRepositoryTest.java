@@ -11,6 +11,7 @@ import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.ChangeStamp;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -58,4 +59,128 @@ public class CommentRepositoryTest {
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
+    @Test
+    void whenFindAllByItemIdIn() {
+        User user = User.builder()
+                .email("email@email.com")
+                .name("name")
+                .build();
+        Item item1 = Item.builder()
+                .name("name1")
+                .description("desc1")
+                .available(true)
+                .owner(user)
+                .build();
+        Item item2 = Item.builder()
+                .name("name2")
+                .description("desc2")
+                .available(true)
+                .owner(user)
+                .build();
+        Comment comment1 = Comment.builder()
+                .text("text1")
+                .author(user)
+                .item(item1)
+                .created(LocalDateTime.now())
+                .build();
+        Comment comment2 = Comment.builder()
+                .text("text2")
+                .author(user)
+                .item(item2)
+                .created(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+        entityManager.persist(item1);
+        entityManager.persist(item2);
+        entityManager.persist(comment1);
+        entityManager.persist(comment2);
+        List<Comment> expected = List.of(comment1, comment2);
+
+        List<Comment> actual = commentRepository.findAllByItemIdIn(List.of(item1.getId(), item2.getId()));
+
+        assertThat(actual).usingRecursiveComparison().ignoringCollectionOrder().isEqualTo(expected);
+    }
+
+    @Test
+    void whenCommentAuthorRenamedThenChangeStampChanges() {
+        User user = User.builder()
+                .email("email@email.com")
+                .name("name")
+                .build();
+        Item item = Item.builder()
+                .name("name")
+                .description("desc")
+                .available(true)
+                .owner(user)
+                .build();
+        Comment comment = Comment.builder()
+                .text("text")
+                .author(user)
+                .item(item)
+                .created(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+        entityManager.persist(item);
+        entityManager.persist(comment);
+        entityManager.flush();
+        Long before = commentRepository.findChangeStampByItemId(item.getId()).getChecksum();
+
+        user.setName("new name");
+        entityManager.flush();
+        ChangeStamp actual = commentRepository.findChangeStampByItemId(item.getId());
+
+        assertThat(actual.getCount()).isEqualTo(1L);
+        assertThat(actual.getChecksum()).isNotEqualTo(before);
+    }
+
+    @Test
+    void whenFindItemIdsByAuthorIdThenOnlyCommentedItemsReturnedOnce() {
+        User author = User.builder()
+                .email("author@email.com")
+                .name("author")
+                .build();
+        User other = User.builder()
+                .email("other@email.com")
+                .name("other")
+                .build();
+        Item commented = Item.builder()
+                .name("name1")
+                .description("desc1")
+                .available(true)
+                .owner(other)
+                .build();
+        Item notCommented = Item.builder()
+                .name("name2")
+                .description("desc2")
+                .available(true)
+                .owner(other)
+                .build();
+        entityManager.persist(author);
+        entityManager.persist(other);
+        entityManager.persist(commented);
+        entityManager.persist(notCommented);
+        entityManager.persist(Comment.builder()
+                .text("text1")
+                .author(author)
+                .item(commented)
+                .created(LocalDateTime.now())
+                .build());
+        entityManager.persist(Comment.builder()
+                .text("text2")
+                .author(author)
+                .item(commented)
+                .created(LocalDateTime.now())
+                .build());
+        entityManager.persist(Comment.builder()
+                .text("text3")
+                .author(other)
+                .item(notCommented)
+                .created(LocalDateTime.now())
+                .build());
+
+        List<Long> actual = commentRepository.findItemIdsByAuthorId(author.getId());
+
+        assertThat(actual).containsExactly(commented.getId());
+    }
+
 }
@@ -6,12 +6,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.CommentDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -186,6 +188,30 @@ public class ItemControllerTest {
         verify(itemService, times(1)).getItemById(1L, 1L);
     }
 
+    @Test
+    void getItemByIdSetsETag() throws Exception {
+        when(itemService.getItemETag(anyLong(), anyLong())).thenReturn("\"item-1\"");
+        when(itemService.getItemById(anyLong(), anyLong())).thenReturn(item1DtoResponse);
+
+        mvc.perform(get("/items/{itemId}", 1L)
+                        .header(REQUEST_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1\""));
+    }
+
+    @Test
+    void getItemByIdWhenETagMatchesThenNotModified() throws Exception {
+        when(itemService.getItemETag(anyLong(), anyLong())).thenReturn("\"item-1\"");
+
+        mvc.perform(get("/items/{itemId}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"item-1\"")
+                        .header(REQUEST_HEADER, 1L))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(itemService, never()).getItemById(anyLong(), anyLong());
+    }
+
     @Test
     void getAllItemsUser() throws Exception {
 
@@ -221,6 +247,25 @@ public class ItemControllerTest {
         verify(itemService, times(1)).getItemsByText("text", 0, 10);
     }
 
+    @Test
+    void getSearchItemAfterCursor() throws Exception {
+        when(itemService.getItemsByTextAfterCursor(anyString(), anyString(), anyInt()))
+                .thenReturn(new ItemSearchPageDto(List.of(item1DtoResponse), "next"));
+
+        mvc.perform(get("/items/search")
+                        .param("text", "text")
+                        .param("cursor", "")
+                        .param("size", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(item1DtoResponse))));
+
+        verify(itemService, times(1)).getItemsByTextAfterCursor("text", "", 1);
+    }
+
     @Test
     void addComment() throws Exception {
         when(itemService.addComment(any(CommentDto.class), anyLong(), anyLong())).thenReturn(commentDtoResponse);
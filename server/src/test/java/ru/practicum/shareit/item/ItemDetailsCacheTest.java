@@ -0,0 +1,142 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingBookerDto;
+import ru.practicum.shareit.item.comment.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.service.ItemDetailsCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ItemDetailsCacheTest {
+
+    private static final Instant START = Instant.parse("2030-01-01T00:00:00Z");
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return START.plusNanos(nanos.get());
+        }
+    };
+    private ItemDetailsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemDetailsCache(nanos::get, clock);
+    }
+
+    @Test
+    void whenOwnerAndPublicViewsRequestedThenCachedSeparately() {
+        ItemDtoResponse owner = cache.get(1L, true, () -> load(null));
+        ItemDtoResponse viewer = cache.get(1L, false, () -> load(null));
+
+        assertThat(cache.get(1L, true, () -> load(null))).usingRecursiveComparison().isEqualTo(owner);
+        assertThat(cache.get(1L, false, () -> load(null))).usingRecursiveComparison().isEqualTo(viewer);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void whenReturnedDetailsChangedThenCachedDetailsStayIntact() {
+        ItemDtoResponse first = cache.get(1L, true, () -> load(LocalDateTime.now(clock).plusMinutes(3)));
+        first.setName("changed");
+        first.getNextBooking().setBookerId(99L);
+        first.getComments().clear();
+
+        ItemDtoResponse second = cache.get(1L, true, () -> load(null));
+
+        assertThat(second.getName()).isEqualTo("name");
+        assertThat(second.getNextBooking().getBookerId()).isEqualTo(1L);
+        assertThat(second.getComments()).hasSize(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void whenInvalidatedThenBothViewsAreReloaded() {
+        cache.get(1L, true, () -> load(null));
+        cache.get(1L, false, () -> load(null));
+        cache.get(2L, false, () -> load(null));
+
+        cache.invalidate(1L);
+        cache.get(1L, true, () -> load(null));
+        cache.get(1L, false, () -> load(null));
+        cache.get(2L, false, () -> load(null));
+
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    void whenInvalidatedDuringLoadThenLoadedDetailsAreNotCached() {
+        cache.get(1L, false, () -> {
+            cache.invalidate(1L);
+            return load(null);
+        });
+        cache.get(1L, false, () -> load(null));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void whenTimeToLivePassesThenDetailsAreReloaded() {
+        cache.get(1L, false, () -> load(null));
+
+        nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+        cache.get(1L, false, () -> load(null));
+        assertThat(loads).hasValue(1);
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        cache.get(1L, false, () -> load(null));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void whenNextBookingStartsThenOwnerViewIsReloaded() {
+        cache.get(1L, true, () -> load(LocalDateTime.now(clock).plusMinutes(1)));
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        cache.get(1L, true, () -> load(null));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private ItemDtoResponse load(LocalDateTime nextBookingStart) {
+        loads.incrementAndGet();
+        return ItemDtoResponse.builder()
+                .id(1L)
+                .name("name")
+                .nextBooking(nextBookingStart == null ? null : BookingBookerDto.builder()
+                        .id(1L)
+                        .bookerId(1L)
+                        .start(nextBookingStart)
+                        .build())
+                .comments(new HashSet<>(Set.of(CommentDtoResponse.builder()
+                        .id(1L)
+                        .text("text")
+                        .authorName("author")
+                        .build())))
+                .build();
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchHit;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -72,28 +73,50 @@ public class ItemRepositoryTest {
     }
 
     @Test
-    void whenFindItemByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue() {
-        item2.setAvailable(false);
+    void whenSearchAvailableItemsThenNameMatchesRankFirst() {
+        item1.setDescription("second hand");
+        Item item3 = Item.builder()
+                .name("third")
+                .description("secondary")
+                .available(false)
+                .owner(user)
+                .build();
         entityManager.persist(user);
         entityManager.persist(item1);
         entityManager.persist(item2);
-        List<Item> expected = List.of(item1);
+        entityManager.persist(item3);
+        List<ItemSearchHit> expected = List.of(new ItemSearchHit(item2.getId(), 2L),
+                new ItemSearchHit(item1.getId(), 1L));
 
-        List<Item> actual = itemRepository.findItemByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue("first", "desc", pageRequest);
+        List<ItemSearchHit> actual = itemRepository.searchAvailableItems("SECOND", Long.MAX_VALUE, 0L, 0, 3);
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual).isEqualTo(expected);
     }
 
     @Test
-    void whenFindAllItemIdByOwnerId() {
+    void whenSearchAvailableItemsAfterCursor() {
+        item2.setName("firstName again");
         entityManager.persist(user);
         entityManager.persist(item1);
         entityManager.persist(item2);
-        List<Long> expected = List.of(item1.getId(), item2.getId());
+        List<ItemSearchHit> expected = List.of(new ItemSearchHit(item2.getId(), 2L));
 
-        List<Long> actual = itemRepository.findAllItemIdByOwnerId(user.getId());
+        List<ItemSearchHit> actual = itemRepository.searchAvailableItems("first", 2L, item1.getId(), 0, 3);
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void whenSearchAvailableItemsWithLikeWildcardsThenTheyAreMatchedLiterally() {
+        item1.setDescription("100% new");
+        entityManager.persist(user);
+        entityManager.persist(item1);
+        entityManager.persist(item2);
+        List<ItemSearchHit> expected = List.of(new ItemSearchHit(item1.getId(), 1L));
+
+        List<ItemSearchHit> actual = itemRepository.searchAvailableItems("0% n", Long.MAX_VALUE, 0L, 0, 3);
+
+        assertThat(actual).isEqualTo(expected);
     }
 
     @Test
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.NotAvailableException;
+import ru.practicum.shareit.item.dto.ItemSearchCursor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ItemSearchCursorTest {
+
+    @Test
+    void whenEncodeAndDecodeCursorIsSuccess() {
+        ItemSearchCursor expected = new ItemSearchCursor(607927L, 42L);
+
+        ItemSearchCursor actual = ItemSearchCursor.decode(expected.encode());
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void whenDecodeInvalidCursorIsNotSuccess() {
+        assertThatThrownBy(() -> ItemSearchCursor.decode("not a cursor"))
+                .isInstanceOf(NotAvailableException.class)
+                .message()
+                .isEqualTo("Некорректный курсор: not a cursor");
+    }
+}
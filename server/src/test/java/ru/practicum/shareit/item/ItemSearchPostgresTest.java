@@ -0,0 +1,161 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchHit;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.item.ItemSearchPostgresTest$CapturingInspector")
+public class ItemSearchPostgresTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14.7-alpine");
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    private final TestEntityManager entityManager;
+    private final ItemRepository itemRepository;
+
+    private Item nameHit;
+    private Item descriptionHit;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.sql.init.schema-locations",
+                () -> "classpath:schema.sql,classpath:schema-postgresql.sql");
+    }
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .email("email@email.com")
+                .name("name")
+                .build();
+        nameHit = Item.builder()
+                .name("Дрель ударная")
+                .description("почти новая")
+                .available(true)
+                .owner(user)
+                .build();
+        descriptionHit = Item.builder()
+                .name("Набор сверл")
+                .description("подходит под любую дрель")
+                .available(true)
+                .owner(user)
+                .build();
+        Item unavailableHit = Item.builder()
+                .name("Дрель")
+                .description("дрель")
+                .available(false)
+                .owner(user)
+                .build();
+        entityManager.persist(user);
+        entityManager.persist(nameHit);
+        entityManager.persist(descriptionHit);
+        entityManager.persist(unavailableHit);
+        entityManager.flush();
+    }
+
+    @Test
+    void whenSearchAvailableItemsThenPrefixMatchesAreRankedByField() {
+        List<ItemSearchHit> actual = itemRepository.searchAvailableItems("ДРЕ", Long.MAX_VALUE, 0L, 0, 10);
+
+        assertThat(actual).extracting(ItemSearchHit::getItemId)
+                .containsExactly(nameHit.getId(), descriptionHit.getId());
+        assertThat(actual.get(0).getScore()).isGreaterThan(actual.get(1).getScore());
+    }
+
+    @Test
+    void whenSearchAvailableItemsWithSeveralTermsThenAllTermsMustMatch() {
+        List<ItemSearchHit> actual = itemRepository.searchAvailableItems("дрель, новая!", Long.MAX_VALUE, 0L,
+                0, 10);
+
+        assertThat(actual).extracting(ItemSearchHit::getItemId).containsExactly(nameHit.getId());
+    }
+
+    @Test
+    void whenSearchAvailableItemsAfterCursorThenNextHitsAreReturned() {
+        ItemSearchHit first = itemRepository.searchAvailableItems("дрель", Long.MAX_VALUE, 0L, 0, 1).get(0);
+
+        List<ItemSearchHit> actual = itemRepository.searchAvailableItems("дрель", first.getScore(),
+                first.getItemId(), 0, 10);
+
+        assertThat(actual).extracting(ItemSearchHit::getItemId).containsExactly(descriptionHit.getId());
+    }
+
+    @Test
+    void whenSearchAvailableItemsThenSearchIndexCanBeUsed() {
+        STATEMENTS.clear();
+        itemRepository.searchAvailableItems("дрель", Long.MAX_VALUE, 0L, 0, 10);
+        assertThat(STATEMENTS).hasSize(1);
+
+        assertThat(explainWithoutSeqScan(STATEMENTS.get(0))).contains("Bitmap Index Scan on idx_items_search");
+    }
+
+    private String explainWithoutSeqScan(String sql) {
+        StringBuilder prepared = new StringBuilder();
+        Matcher matcher = Pattern.compile("\\?").matcher(sql);
+        int parameters = 0;
+        while (matcher.find()) {
+            matcher.appendReplacement(prepared, "\\$" + ++parameters);
+        }
+        matcher.appendTail(prepared);
+        String arguments = String.join(", ", Collections.nCopies(parameters, "NULL"));
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL enable_seqscan = off");
+                statement.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE item_search AS " + prepared);
+                try (ResultSet rows = statement.executeQuery("EXPLAIN EXECUTE item_search(" + arguments + ")")) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                } finally {
+                    statement.execute("DEALLOCATE item_search");
+                }
+            }
+        });
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
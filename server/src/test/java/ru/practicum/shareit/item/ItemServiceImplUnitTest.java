@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ActiveProfiles;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
@@ -19,24 +20,33 @@ import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.dto.ItemSearchCursor;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchHit;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemDetailsCache;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utils.ChangeStamp;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ActiveProfiles("unit-test")
@@ -56,6 +66,8 @@ public class ItemServiceImplUnitTest {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Spy
+    private ItemDetailsCache itemDetailsCache = new ItemDetailsCache();
 
     private Item item;
     private ItemDto itemDto1;
@@ -179,14 +191,90 @@ public class ItemServiceImplUnitTest {
         expected.setNextBooking(BookingMapper.toBookingBookerDto(booking2));
         expected.setComments(new HashSet<>());
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(bookingRepository.findFirstByItemIdAndStartBeforeAndStatusOrderByEndDesc(anyLong(), any(), any())).thenReturn(booking1);
-        when(bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(anyLong(), any(), any())).thenReturn(booking2);
+        when(bookingRepository.findLastBookingsByItemIdIn(any(), any(), any())).thenReturn(List.of(booking1));
+        when(bookingRepository.findNextBookingsByItemIdIn(any(), any(), any())).thenReturn(List.of(booking2));
 
         ItemDtoResponse actual = itemService.getItemById(user1.getId(), item.getId());
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
+    @Test
+    void whenGetItemByIdTwiceThenDetailsAreServedFromCache() {
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+
+        ItemDtoResponse first = itemService.getItemById(user2.getId(), item.getId());
+        ItemDtoResponse second = itemService.getItemById(user2.getId(), item.getId());
+
+        assertThat(second).isNotSameAs(first).usingRecursiveComparison().isEqualTo(first);
+        assertThat(second.getLastBooking()).isNull();
+        verify(commentRepository, times(1)).findAllByItemId(item.getId());
+        verify(bookingRepository, never()).findLastBookingsByItemIdIn(any(), any(), any());
+    }
+
+    @Test
+    void whenUpdateItemThenCachedDetailsAreReloaded() {
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.save(any())).thenReturn(item);
+        itemService.getItemById(user2.getId(), item.getId());
+
+        itemService.updateItem(itemDto1, item.getId(), user1.getId());
+        itemService.getItemById(user2.getId(), item.getId());
+
+        verify(itemDetailsCache).invalidate(item.getId());
+        verify(commentRepository, times(2)).findAllByItemId(item.getId());
+    }
+
+    @Test
+    void whenItemUpdatedBeforeDetailsLoadThenUpdatedItemIsCached() {
+        Item updated = Item.builder()
+                .id(item.getId())
+                .owner(user1)
+                .name("updated name")
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .build();
+        when(itemRepository.findById(anyLong()))
+                .thenAnswer(invocation -> {
+                    itemDetailsCache.invalidate(item.getId());
+                    return Optional.of(item);
+                })
+                .thenReturn(Optional.of(updated));
+
+        ItemDtoResponse first = itemService.getItemById(user2.getId(), item.getId());
+        ItemDtoResponse second = itemService.getItemById(user2.getId(), item.getId());
+
+        assertThat(first.getName()).isEqualTo("updated name");
+        assertThat(second.getName()).isEqualTo("updated name");
+        verify(commentRepository, times(1)).findAllByItemId(item.getId());
+    }
+
+    @Test
+    void whenGetItemETagThenOwnerAndPublicViewsDiffer() {
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(commentRepository.findChangeStampByItemId(item.getId())).thenReturn(stamp(1L, 5L, 5L));
+        when(bookingRepository.findChangeStampByItemId(anyLong(), any(), any())).thenReturn(stamp(2L, 7L, 1L));
+
+        String publicTag = itemService.getItemETag(user2.getId(), item.getId());
+        String ownerTag = itemService.getItemETag(user1.getId(), item.getId());
+
+        assertThat(publicTag).startsWith("\"").endsWith("\"").isNotEqualTo(ownerTag);
+        assertThat(itemService.getItemETag(user2.getId(), item.getId())).isEqualTo(publicTag);
+        verify(bookingRepository, times(1)).findChangeStampByItemId(anyLong(), any(), any());
+    }
+
+    @Test
+    void whenCommentAddedThenItemETagChanges() {
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(commentRepository.findChangeStampByItemId(item.getId()))
+                .thenReturn(stamp(1L, 5L, 5L), stamp(2L, 6L, 11L));
+
+        String before = itemService.getItemETag(user2.getId(), item.getId());
+        String after = itemService.getItemETag(user2.getId(), item.getId());
+
+        assertThat(after).isNotEqualTo(before);
+    }
+
     @Test
     void whenGetItemByInvalidIdIsNotSuccess() {
         String expectedMessage = "Вещь с id " + 999L + " не найдена.";
@@ -210,6 +298,31 @@ public class ItemServiceImplUnitTest {
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
+    @Test
+    void whenGetItemsByUserIdWithBookingsAndCommentsIsSuccess() {
+        Comment comment = Comment.builder()
+                .created(LocalDateTime.now())
+                .author(user2)
+                .item(item)
+                .text("text")
+                .id(1L)
+                .build();
+        ItemDtoResponse itemDtoResponse = ItemMapper.toItemDtoResponseFromItem(item);
+        itemDtoResponse.setLastBooking(BookingMapper.toBookingBookerDto(booking1));
+        itemDtoResponse.setNextBooking(BookingMapper.toBookingBookerDto(booking2));
+        itemDtoResponse.setComments(Set.of(CommentMapper.toCommentDtoResponseFromComment(comment)));
+        List<ItemDtoResponse> expected = List.of(itemDtoResponse);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(itemRepository.findItemByOwner_Id(anyLong(), any())).thenReturn(List.of(item));
+        when(bookingRepository.findLastBookingsByItemIdIn(any(), any(), any())).thenReturn(List.of(booking1));
+        when(bookingRepository.findNextBookingsByItemIdIn(any(), any(), any())).thenReturn(List.of(booking2));
+        when(commentRepository.findAllByItemIdIn(any())).thenReturn(List.of(comment));
+
+        List<ItemDtoResponse> actual = itemService.getItemsByUserId(user1.getId(), 0, 3);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
     @Test
     void whenGetItemsByInvalidUserIdIsNotSuccess() {
         String expectedMessage = "Пользователь с id " + 999L + " не найден";
@@ -223,13 +336,49 @@ public class ItemServiceImplUnitTest {
     @Test
     void whenGetItemsByText() {
         List<ItemDtoResponse> expected = List.of(ItemMapper.toItemDtoResponseFromItem(item));
-        when(itemRepository.findItemByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(any(), any(), any())).thenReturn(List.of(item));
+        when(itemRepository.searchAvailableItems("text", Long.MAX_VALUE, 0L, 0, 3))
+                .thenReturn(List.of(new ItemSearchHit(item.getId(), 2L)));
+        when(itemRepository.findAllById(List.of(item.getId()))).thenReturn(List.of(item));
 
         List<ItemDtoResponse> actual = itemService.getItemsByText("text", 0, 3);
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 
+    @Test
+    void whenGetItemsByTextFromInsidePageThenOffsetIsPageStart() {
+        when(itemRepository.searchAvailableItems("text", Long.MAX_VALUE, 0L, 3, 3))
+                .thenReturn(List.of(new ItemSearchHit(item.getId(), 2L)));
+        when(itemRepository.findAllById(List.of(item.getId()))).thenReturn(List.of(item));
+
+        List<ItemDtoResponse> actual = itemService.getItemsByText("text", 5, 3);
+
+        assertThat(actual).hasSize(1);
+        verify(itemRepository).searchAvailableItems("text", Long.MAX_VALUE, 0L, 3, 3);
+    }
+
+    @Test
+    void whenGetItemsByTextAfterCursorThenNextCursorPointsToLastHit() {
+        Item otherItem = Item.builder()
+                .id(2L)
+                .name("other text")
+                .description("desc")
+                .available(true)
+                .owner(user1)
+                .build();
+        ItemSearchCursor after = new ItemSearchCursor(2L, 5L);
+        when(itemRepository.searchAvailableItems("text", 2L, 5L, 0, 3))
+                .thenReturn(List.of(new ItemSearchHit(otherItem.getId(), 2L), new ItemSearchHit(item.getId(), 1L),
+                        new ItemSearchHit(7L, 1L)));
+        when(itemRepository.findAllById(List.of(otherItem.getId(), item.getId()))).thenReturn(List.of(item, otherItem));
+        ItemSearchPageDto expected = new ItemSearchPageDto(List.of(ItemMapper.toItemDtoResponseFromItem(otherItem),
+                ItemMapper.toItemDtoResponseFromItem(item)), new ItemSearchCursor(1L, item.getId()).encode());
+
+        ItemSearchPageDto actual = itemService.getItemsByTextAfterCursor("text", after.encode(), 2);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
     @Test
     void whenAddCommentIsSuccess() {
         Comment comment = Comment.builder()
@@ -252,6 +401,7 @@ public class ItemServiceImplUnitTest {
         CommentDtoResponse actual = itemService.addComment(CommentMapper.toCommentDto(comment), item.getId(), user1.getId());
 
         assertThat(actual).usingRecursiveComparison().ignoringFields("created").isEqualTo(expected);
+        verify(itemDetailsCache).invalidate(item.getId());
     }
 
     @Test
@@ -288,4 +438,22 @@ public class ItemServiceImplUnitTest {
                 .isEqualTo(expectedMessage);
     }
 
+    private static ChangeStamp stamp(Long count, Long maxId, Long checksum) {
+        return new ChangeStamp() {
+            @Override
+            public Long getCount() {
+                return count;
+            }
+
+            @Override
+            public Long getMaxId() {
+                return maxId;
+            }
+
+            @Override
+            public Long getChecksum() {
+                return checksum;
+            }
+        };
+    }
 }
@@ -0,0 +1,133 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class MetricsTest {
+
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final MeterRegistry meterRegistry;
+    private final MockMvc mockMvc;
+
+    private User owner;
+
+    @BeforeEach
+    void initDb() {
+        owner = userRepository.save(new User(0L, "owner", "owner@email.com", 0L));
+        User booker = userRepository.save(new User(0L, "booker", "booker@email.com", 0L));
+        Item item = itemRepository.save(new Item(0L, "item", "item description", true, owner, null, null, null,
+                0L));
+        bookingRepository.save(new Booking(0L, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2),
+                item, booker, Status.WAITING, 0L));
+    }
+
+    @AfterEach
+    void clearDb() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void whenGetBookingsByOwnerThenStateQueryAndServiceAndRepositoryRecorded() {
+        long queries = timerCount("shareit.booking.queries", "state", "WAITING", "side", "owner",
+                "pagination", "offset");
+        long calls = timerCount("shareit.service", "endpoint", "BookingServiceImpl.getBookingsByOwnerId",
+                "exception", "none");
+        DistributionSummary results = DistributionSummary.builder("shareit.repository.results")
+                .tags("repository", "BookingRepository", "method", "findOwnerByStatus")
+                .register(meterRegistry);
+        double rows = results.totalAmount();
+
+        assertThat(bookingService.getBookingsByOwnerId(BookingState.WAITING, owner.getId(), 0, 10)).hasSize(1);
+
+        assertThat(timerCount("shareit.booking.queries", "state", "WAITING", "side", "owner",
+                "pagination", "offset")).isEqualTo(queries + 1);
+        assertThat(timerCount("shareit.service", "endpoint", "BookingServiceImpl.getBookingsByOwnerId",
+                "exception", "none")).isEqualTo(calls + 1);
+        assertThat(timerCount("shareit.repository", "repository", "BookingRepository",
+                "method", "findOwnerByStatus", "exception", "none")).isPositive();
+        assertThat(results.totalAmount()).isEqualTo(rows + 1);
+    }
+
+    @Test
+    void whenServiceThrowsThenExceptionTagged() {
+        long failures = timerCount("shareit.service", "endpoint", "BookingServiceImpl.getBookingsByBookerId",
+                "exception", "NotFoundException");
+
+        assertThatThrownBy(() -> bookingService.getBookingsByBookerId(BookingState.ALL, -1L, 0, 10))
+                .isInstanceOf(NotFoundException.class);
+
+        assertThat(timerCount("shareit.service", "endpoint", "BookingServiceImpl.getBookingsByBookerId",
+                "exception", "NotFoundException")).isEqualTo(failures + 1);
+    }
+
+    @Test
+    void whenScrapePrometheusThenDomainMetricsExported() throws Exception {
+        bookingService.getBookingsByOwnerId(BookingState.ALL, owner.getId(), 0, 10);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "shareit_booking_queries_seconds_count{pagination=\"offset\",side=\"owner\",state=\"ALL\",}")))
+                .andExpect(content().string(containsString(
+                        "shareit_repository_results_rows_bucket{method=\"findOwnerAll\"")));
+    }
+
+    @Test
+    void whenLoadCachedUserThenSecondLevelCacheRequestsRecorded() {
+        userRepository.findById(owner.getId());
+        userRepository.findById(owner.getId());
+
+        FunctionCounter hits = meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", "users", "result", "hit")
+                .functionCounter();
+
+        assertThat(hits).isNotNull();
+        assertThat(hits.count()).isPositive();
+    }
+
+    private long timerCount(String name, String... tags) {
+        Timer timer = meterRegistry.find(name).tags(tags).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
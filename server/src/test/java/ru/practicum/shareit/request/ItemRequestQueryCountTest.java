@@ -0,0 +1,90 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@DataJpaTest
+@Import(ItemRequestServiceImpl.class)
+public class ItemRequestQueryCountTest {
+
+    private final TestEntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemRequestService itemRequestService;
+
+    @Test
+    void whenGetRequestsByOwnerThenQueryCountDoesNotGrowWithRequests() {
+        User oneRequest = persistRequesterWithRequests("one@test.ru", 1);
+        User manyRequests = persistRequesterWithRequests("many@test.ru", 30);
+
+        long forOne = countStatements(() -> itemRequestService.getRequestsByOwner(oneRequest.getId()));
+        long forMany = countStatements(() -> itemRequestService.getRequestsByOwner(manyRequests.getId()));
+
+        assertThat(forMany).isEqualTo(forOne).isLessThanOrEqualTo(3L);
+    }
+
+    @Test
+    void whenGetAllRequestsThenQueryCountDoesNotGrowWithPageSize() {
+        User requester = persistRequesterWithRequests("all@test.ru", 40);
+
+        long forOne = countStatements(() -> itemRequestService.getAllRequests(requester.getId(), 0, 1));
+        long forMany = countStatements(() -> itemRequestService.getAllRequests(requester.getId(), 0, 30));
+
+        assertThat(forMany).isEqualTo(forOne).isLessThanOrEqualTo(3L);
+    }
+
+    private User persistRequesterWithRequests(String email, int requests) {
+        User requester = entityManager.persist(User.builder()
+                .name("requester")
+                .email(email)
+                .build());
+        for (int i = 0; i < requests; i++) {
+            ItemRequest request = entityManager.persist(ItemRequest.builder()
+                    .description("request " + i)
+                    .requester(requester)
+                    .created(LocalDateTime.now().minusMinutes(i))
+                    .build());
+            entityManager.persist(Item.builder()
+                    .name("item " + i)
+                    .description("answer")
+                    .available(true)
+                    .owner(requester)
+                    .request(request)
+                    .build());
+        }
+        entityManager.flush();
+        return requester;
+    }
+
+    private long countStatements(Supplier<List<ItemRequestDto>> call) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemRequestDto> actual = call.get();
+
+        assertThat(actual).isNotEmpty().allSatisfy(request -> assertThat(request.getItems()).hasSize(1));
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.test.context.ActiveProfiles;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestSmallDto;
@@ -28,6 +30,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ActiveProfiles("unit-test")
@@ -101,6 +106,29 @@ public class ItemRequestServiceImplUnitTest {
         assertThat(actual).usingRecursiveComparison().isEqualTo(List.of(itemRequestDto));
     }
 
+    @Test
+    void whenGetRequestsByOwnerThenItemsAreLoadedInOneQueryAndGrouped() {
+        ItemRequest itemRequest2 = ItemRequest.builder()
+                .id(2L)
+                .requester(user)
+                .created(LocalDateTime.now().minusHours(1))
+                .description("desc2")
+                .build();
+        Item item1 = Item.builder().id(10L).name("item1").available(true).request(itemRequest).build();
+        Item item2 = Item.builder().id(11L).name("item2").available(true).request(itemRequest).build();
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findAllByRequesterIdOrderByCreatedDesc(anyLong()))
+                .thenReturn(List.of(itemRequest, itemRequest2));
+        when(itemRepository.findAllByRequest_IdIn(List.of(1L, 2L))).thenReturn(List.of(item1, item2));
+
+        List<ItemRequestDto> actual = itemRequestService.getRequestsByOwner(user.getId());
+
+        assertThat(actual.get(0).getItems()).extracting(ItemDto::getId).containsExactly(10L, 11L);
+        assertThat(actual.get(1).getItems()).isEmpty();
+        verify(itemRepository, times(1)).findAllByRequest_IdIn(any());
+        verify(itemRepository, never()).findByRequest_Id(anyLong());
+    }
+
     @Test
     void whenGetRequestsByInvalidOwnerIsNotSuccess() {
         String expectedMessage = "Пользователь с id " + 999L + " не найден";
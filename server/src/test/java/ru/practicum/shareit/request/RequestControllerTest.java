@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -134,4 +135,16 @@ public class RequestControllerTest {
 
         verify(itemRequestService, times(1)).getRequestById(1L, 1L);
     }
+
+    @Test
+    void getRequestByIdWhenETagMatchesThenNotModified() throws Exception {
+        when(itemRequestService.getRequestETag(anyLong(), anyLong())).thenReturn("\"request-1\"");
+
+        mvc.perform(get("/requests/{requestId}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"request-1\"")
+                        .header(REQUEST_HEADER, 1L))
+                .andExpect(status().isNotModified());
+
+        verify(itemRequestService, never()).getRequestById(anyLong(), anyLong());
+    }
 }
\ No newline at end of file
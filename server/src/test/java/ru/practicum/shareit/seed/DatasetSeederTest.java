@@ -0,0 +1,98 @@
+package ru.practicum.shareit.seed;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DatasetSeederTest {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void whenSeedThenTablesFilledWithSkewedData() {
+        new DatasetSeeder(jdbcTemplate.getDataSource()).seed(properties());
+
+        assertThat(count("SELECT COUNT(*) FROM users")).isEqualTo(50);
+        assertThat(count("SELECT COUNT(*) FROM requests")).isEqualTo(40);
+        assertThat(count("SELECT COUNT(*) FROM items")).isEqualTo(200);
+        assertThat(count("SELECT COUNT(*) FROM bookings")).isEqualTo(4000);
+        assertThat(count("SELECT COUNT(*) FROM comments")).isEqualTo(1000);
+        assertThat(count("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM bookings GROUP BY item_id) t"))
+                .isGreaterThan(200);
+        assertThat(count("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM items GROUP BY owner_id) t"))
+                .isGreaterThan(20);
+        assertThat(count("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM comments GROUP BY item_id) t"))
+                .isGreaterThan(50);
+        assertThat(count("SELECT COUNT(*) FROM requests r WHERE NOT EXISTS "
+                + "(SELECT 1 FROM items i WHERE i.request_id = r.request_id)")).isGreaterThan(20);
+        assertThat(count("SELECT COUNT(*) FROM bookings WHERE booking_status IN ('REJECTED', 'CANCELED')"))
+                .isGreaterThan(0);
+    }
+
+    @Test
+    void whenSeedThenOccupyingBookingsDoNotOverlapAndOwnersDoNotBook() {
+        new DatasetSeeder(jdbcTemplate.getDataSource()).seed(properties());
+
+        assertThat(count("SELECT COUNT(*) FROM bookings a JOIN bookings b ON a.item_id = b.item_id "
+                + "AND a.booking_id < b.booking_id AND a.start_time < b.end_time AND b.start_time < a.end_time "
+                + "WHERE a.booking_status IN ('WAITING', 'APPROVED') "
+                + "AND b.booking_status IN ('WAITING', 'APPROVED')")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM bookings b JOIN items i ON b.item_id = i.item_id "
+                + "WHERE b.booker_id = i.owner_id")).isZero();
+    }
+
+    @Test
+    void whenSeedThenIdentitiesContinueAfterSeededRows() {
+        new DatasetSeeder(jdbcTemplate.getDataSource()).seed(properties());
+
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('new', 'new@shareit.ru')");
+
+        assertThat(count("SELECT user_id FROM users WHERE email = 'new@shareit.ru'")).isEqualTo(51);
+    }
+
+    @Test
+    void whenDatabaseNotEmptyThenSeedFails() {
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('user', 'user@shareit.ru')");
+        DatasetSeeder seeder = new DatasetSeeder(jdbcTemplate.getDataSource());
+
+        assertThatThrownBy(() -> seeder.seed(properties()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static SeedProperties properties() {
+        SeedProperties properties = new SeedProperties();
+        properties.setUsers(50);
+        properties.setRequests(40);
+        properties.setItems(200);
+        properties.setBookings(4000);
+        properties.setComments(1000);
+        properties.setBatchSize(100);
+        return properties;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.seed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ZipfSamplerTest {
+
+    @Test
+    void whenSkewedThenFirstRanksDominate() {
+        int[] counts = sample(new ZipfSampler(1000, 1.2), 1000, 100_000);
+
+        assertThat(counts[0]).isGreaterThan(100 * Math.max(1, counts[999]));
+        assertThat(counts[0]).isGreaterThan(counts[1]);
+        assertThat(counts[1]).isGreaterThan(counts[9]);
+    }
+
+    @Test
+    void whenExponentIsZeroThenSamplesAreUniform() {
+        int[] counts = sample(new ZipfSampler(10, 0), 10, 100_000);
+
+        for (int count : counts) {
+            assertThat(count).isBetween(9_000, 11_000);
+        }
+    }
+
+    @Test
+    void whenSameSeedThenSameSequence() {
+        ZipfSampler sampler = new ZipfSampler(100, 1.0);
+        Random first = new Random(7);
+        Random second = new Random(7);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(sampler.sample(first)).isEqualTo(sampler.sample(second));
+        }
+    }
+
+    @Test
+    void whenAppendCsvThenStringsQuotedAndNullsEmpty() {
+        StringBuilder csv = new StringBuilder();
+
+        CopyWriter.appendCsv(csv, 1, "дрель \"Бош\", новая", null, true);
+
+        assertThat(csv).hasToString("1,\"дрель \"\"Бош\"\", новая\",,true\n");
+    }
+
+    private static int[] sample(ZipfSampler sampler, int size, int draws) {
+        Random random = new Random(42);
+        int[] counts = new int[size];
+        for (int i = 0; i < draws; i++) {
+            counts[sampler.sample(random)]++;
+        }
+        return counts;
+    }
+}
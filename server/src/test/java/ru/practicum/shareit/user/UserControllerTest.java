@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -111,6 +112,18 @@ public class UserControllerTest {
         verify(userService, times(1)).getUserById(1L);
     }
 
+    @Test
+    void getUserWhenETagMatchesThenNotModified() throws Exception {
+        when(userService.getUserETag(1L)).thenReturn("\"user-1\"");
+
+        mvc.perform(get("/users/{userId}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"user-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"user-1\""));
+
+        verify(userService, never()).getUserById(anyLong());
+    }
+
     @Test
     void deleteUser() throws Exception {
         mvc.perform(delete("/users/{userId}", 1L))
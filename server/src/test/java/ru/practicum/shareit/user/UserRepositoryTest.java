@@ -37,4 +37,9 @@ public class UserRepositoryTest {
 
         assertThat(actual).isTrue();
     }
+
+    @Test
+    void whenExistsByIdForUnknownUser() {
+        assertThat(userRepository.existsById(999L)).isFalse();
+    }
 }
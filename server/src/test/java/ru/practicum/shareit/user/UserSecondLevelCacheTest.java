@@ -0,0 +1,49 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserSecondLevelCacheTest {
+
+    private final UserRepository userRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void whenExistsByIdAfterLoadThenSecondLevelCacheIsHit() {
+        User user = userRepository.save(User.builder()
+                .name("name")
+                .email("cached@test.ru")
+                .build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        try {
+            userRepository.findById(user.getId());
+            statistics.clear();
+
+            boolean actual = userRepository.existsById(user.getId());
+
+            assertThat(actual).isTrue();
+            assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1L);
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        } finally {
+            userRepository.deleteById(user.getId());
+        }
+    }
+}
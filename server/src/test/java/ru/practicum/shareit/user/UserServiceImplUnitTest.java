@@ -7,13 +7,22 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemDetailsCache;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +30,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ActiveProfiles("unit-test")
@@ -33,6 +45,18 @@ public class UserServiceImplUnitTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
+
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
     private User user1;
     private User user2;
     private UserDto userDto1;
@@ -70,11 +94,15 @@ public class UserServiceImplUnitTest {
     void whenEditUserIsSuccess() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
         when(userRepository.save(any())).thenReturn(user2);
+        when(commentRepository.findItemIdsByAuthorId(user1.getId())).thenReturn(List.of(3L, 4L));
 
         UserDto actual = userService.editUser(user1.getId(), userDto2);
         userDto2.setId(user1.getId());
 
         assertThat(actual).usingRecursiveComparison().isEqualTo(userDto2);
+        verify(itemDetailsCache).invalidate(3L);
+        verify(itemDetailsCache).invalidate(4L);
+        verify(itemDetailsCache, never()).invalidateAll();
     }
 
     @Test
@@ -114,4 +142,29 @@ public class UserServiceImplUnitTest {
                 .message()
                 .isEqualTo(expectedMessage);
     }
+
+    @Test
+    void whenDeleteUserInTransactionThenCachesEvictedAfterCommit() {
+        Cache cache = mock(Cache.class);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            userService.deleteUserById(user1.getId());
+            verify(itemDetailsCache, never()).invalidateAll();
+            verify(cache, never()).evict(any());
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        verify(userRepository).delete(user1);
+        verify(itemDetailsCache).invalidateAll();
+        verify(cache).evict(Item.class);
+        verify(cache).evict(ItemRequest.class);
+        verify(bookingIntervalIndex).invalidateAll();
+    }
 }